@@ -0,0 +1,48 @@
+package com.cobre.notification.application.messaging;
+
+import com.cobre.notification.application.messaging.dto.NotificationEventMessage;
+import com.cobre.notification.domain.port.in.IngestNotificationUseCase;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.kafka.annotation.KafkaListener;
+import org.springframework.kafka.support.Acknowledgment;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+
+@Component
+public class NotificationEventListener {
+
+    private static final Logger logger = LoggerFactory.getLogger(NotificationEventListener.class);
+    private final IngestNotificationUseCase ingestUseCase;
+    private final NotificationEventMessageReader messageReader;
+
+    public NotificationEventListener(IngestNotificationUseCase ingestUseCase,
+                                     NotificationEventMessageReader messageReader) {
+        this.ingestUseCase = ingestUseCase;
+        this.messageReader = messageReader;
+    }
+
+    @KafkaListener(topics = "${webhook.ingestion.topic}", batch = "true")
+    public void onEvents(List<ConsumerRecord<String, byte[]>> records,
+                         Acknowledgment acknowledgment) {
+        List<NotificationEventMessage> messages = new ArrayList<>(records.size());
+        for (ConsumerRecord<String, byte[]> record : records) {
+            NotificationEventMessage message = messageReader.read(record);
+            if (message == null) {
+                logger.warn("Skipping undeserializable record {}-{}@{}",
+                        record.topic(), record.partition(), record.offset());
+                continue;
+            }
+            messages.add(message);
+        }
+
+        int accepted = ingestUseCase.ingest(messages);
+
+        // Offsets are committed only once the batch has been persisted
+        acknowledgment.acknowledge();
+        logger.info("Ingested batch of {} records ({} notifications created)", records.size(), accepted);
+    }
+}
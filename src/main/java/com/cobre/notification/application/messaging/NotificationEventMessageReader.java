@@ -0,0 +1,97 @@
+package com.cobre.notification.application.messaging;
+
+import com.cobre.notification.application.messaging.dto.NotificationEventMessage;
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.apache.kafka.common.header.Header;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+/**
+ * Turns a record into a message without decoding the event payload. Records carrying
+ * {@value #CLIENT_ID_HEADER} and {@value #EVENT_TYPE_HEADER} headers have the payload as their
+ * whole value. Other records are a JSON envelope {clientId, eventType, eventData}; the envelope
+ * is scanned with a streaming parser and eventData is cut out of the value bytes as-is.
+ */
+@Component
+public class NotificationEventMessageReader {
+
+    public static final String CLIENT_ID_HEADER = "x-client-id";
+    public static final String EVENT_TYPE_HEADER = "x-event-type";
+
+    private static final byte[] EMPTY_OBJECT = "{}".getBytes(StandardCharsets.UTF_8);
+
+    private final JsonFactory jsonFactory = new JsonFactory();
+
+    /**
+     * Returns null when the record is neither form.
+     */
+    public NotificationEventMessage read(ConsumerRecord<String, byte[]> record) {
+        if (record.value() == null) {
+            return null;
+        }
+        String clientId = header(record, CLIENT_ID_HEADER);
+        String eventType = header(record, EVENT_TYPE_HEADER);
+        if (clientId != null && eventType != null) {
+            return message(clientId, eventType, record.value());
+        }
+        try {
+            return readEnvelope(record.value());
+        } catch (IOException e) {
+            return null;
+        }
+    }
+
+    private NotificationEventMessage readEnvelope(byte[] value) throws IOException {
+        String clientId = null;
+        String eventType = null;
+        byte[] eventData = null;
+
+        try (JsonParser parser = jsonFactory.createParser(value)) {
+            if (parser.nextToken() != JsonToken.START_OBJECT) {
+                return null;
+            }
+            while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                String field = parser.currentName();
+                JsonToken token = parser.nextToken();
+                switch (field) {
+                    case "clientId" -> clientId = parser.getValueAsString();
+                    case "eventType" -> eventType = parser.getValueAsString();
+                    case "eventData" -> {
+                        if (token != JsonToken.VALUE_NULL) {
+                            int start = (int) parser.currentTokenLocation().getByteOffset();
+                            parser.skipChildren();
+                            // Scalars are read lazily; consume the whole token first
+                            parser.finishToken();
+                            int end = (int) parser.currentLocation().getByteOffset();
+                            eventData = Arrays.copyOfRange(value, start, end);
+                        }
+                    }
+                    default -> parser.skipChildren();
+                }
+            }
+        }
+        if (clientId == null || eventType == null) {
+            return null;
+        }
+        return message(clientId, eventType, eventData != null ? eventData : EMPTY_OBJECT);
+    }
+
+    private static String header(ConsumerRecord<String, byte[]> record, String name) {
+        Header header = record.headers().lastHeader(name);
+        return header != null && header.value() != null ? new String(header.value(), StandardCharsets.UTF_8) : null;
+    }
+
+    private static NotificationEventMessage message(String clientId, String eventType, byte[] eventData) {
+        NotificationEventMessage message = new NotificationEventMessage();
+        message.setClientId(clientId);
+        message.setEventType(eventType);
+        message.setEventData(eventData);
+        return message;
+    }
+}
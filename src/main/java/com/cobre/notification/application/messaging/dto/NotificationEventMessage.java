@@ -0,0 +1,13 @@
+package com.cobre.notification.application.messaging.dto;
+
+import lombok.Getter;
+import lombok.Setter;
+
+@Getter
+@Setter
+public class NotificationEventMessage {
+    private String clientId;
+    private String eventType;
+    // Raw JSON bytes of the event, exactly as published
+    private byte[] eventData;
+}
@@ -2,8 +2,10 @@ package com.cobre.notification.application.rest;
 
 import com.cobre.notification.application.rest.dto.NotificationEventFilter;
 import com.cobre.notification.application.rest.dto.NotificationEventResponse;
+import com.cobre.notification.application.rest.dto.NotificationEventSliceResponse;
 import com.cobre.notification.domain.port.in.QueryNotificationUseCase;
 import com.cobre.notification.domain.port.in.ReplayNotificationUseCase;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.security.SecurityRequirement;
 import io.swagger.v3.oas.annotations.tags.Tag;
@@ -11,12 +13,21 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.Authentication;
+import org.springframework.util.StreamUtils;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.util.Locale;
 import java.util.UUID;
+import java.util.zip.GZIPOutputStream;
 
 @RestController
 @RequestMapping("/api/v1/notification_events")
@@ -26,22 +37,28 @@ import java.util.UUID;
 public class NotificationController {
 
     private static final Logger logger = LoggerFactory.getLogger(NotificationController.class);
+    private static final MediaType NDJSON = MediaType.parseMediaType("application/x-ndjson");
     private final QueryNotificationUseCase queryUseCase;
     private final ReplayNotificationUseCase replayUseCase;
+    private final ObjectMapper objectMapper;
 
     public NotificationController(QueryNotificationUseCase queryUseCase,
-                                  ReplayNotificationUseCase replayUseCase) {
+                                  ReplayNotificationUseCase replayUseCase,
+                                  ObjectMapper objectMapper) {
         this.queryUseCase = queryUseCase;
         this.replayUseCase = replayUseCase;
+        this.objectMapper = objectMapper;
     }
 
     @GetMapping
     @Operation(summary = "Query event notifications",
-            description = "Get all event notifications for authenticated client with optional filters")
+            description = "Get all event notifications for authenticated client with optional filters; " +
+                    "includePayload=false omits eventData, which is always returned by the detail endpoint")
     public ResponseEntity<Page<NotificationEventResponse>> getNotificationEvents(
             @RequestParam(required = false) String eventDateFrom,
             @RequestParam(required = false) String eventDateTo,
             @RequestParam(required = false) String deliveryStatus,
+            @RequestParam(defaultValue = "true") boolean includePayload,
             Pageable pageable,
             Authentication authentication) {
 
@@ -53,12 +70,91 @@ public class NotificationController {
                 .eventDateFrom(eventDateFrom)
                 .eventDateTo(eventDateTo)
                 .deliveryStatus(deliveryStatus)
+                .includePayload(includePayload)
                 .build();
 
         Page<NotificationEventResponse> events = queryUseCase.queryEvents(filter, pageable);
         return ResponseEntity.ok(events);
     }
 
+    @GetMapping("/scroll")
+    @Operation(summary = "Scroll event notifications",
+            description = "Cursor-paged event notifications, newest first; pass the returned next cursor to continue")
+    public ResponseEntity<NotificationEventSliceResponse> scrollNotificationEvents(
+            @RequestParam(required = false) String eventDateFrom,
+            @RequestParam(required = false) String eventDateTo,
+            @RequestParam(required = false) String deliveryStatus,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "100") int limit,
+            @RequestParam(defaultValue = "true") boolean includePayload,
+            Authentication authentication) {
+
+        String clientId = extractClientId(authentication);
+        logger.info("GET /notification_events/scroll for client: {}", clientId);
+
+        NotificationEventFilter filter = NotificationEventFilter.builder()
+                .clientId(clientId)
+                .eventDateFrom(eventDateFrom)
+                .eventDateTo(eventDateTo)
+                .deliveryStatus(deliveryStatus)
+                .includePayload(includePayload)
+                .build();
+
+        return ResponseEntity.ok(queryUseCase.scrollEvents(filter, cursor, limit));
+    }
+
+    @GetMapping("/export")
+    @Operation(summary = "Export event notifications",
+            description = "Streams every matching event notification as newline-delimited JSON, newest first; " +
+                    "gzip-encoded when the client accepts it")
+    public ResponseEntity<StreamingResponseBody> exportNotificationEvents(
+            @RequestParam(required = false) String eventDateFrom,
+            @RequestParam(required = false) String eventDateTo,
+            @RequestParam(required = false) String deliveryStatus,
+            @RequestParam(defaultValue = "true") boolean includePayload,
+            @RequestHeader(value = HttpHeaders.ACCEPT_ENCODING, required = false) String acceptEncoding,
+            Authentication authentication) {
+
+        String clientId = extractClientId(authentication);
+        logger.info("GET /notification_events/export for client: {}", clientId);
+
+        NotificationEventFilter filter = NotificationEventFilter.builder()
+                .clientId(clientId)
+                .eventDateFrom(eventDateFrom)
+                .eventDateTo(eventDateTo)
+                .deliveryStatus(deliveryStatus)
+                .includePayload(includePayload)
+                .build();
+        boolean gzip = acceptsGzip(acceptEncoding);
+
+        StreamingResponseBody body = outputStream -> {
+            // The container owns the response stream; closing ours only finishes the gzip trailer
+            try (OutputStream out = gzip ?
+                    new GZIPOutputStream(StreamUtils.nonClosing(outputStream), 8192) :
+                    StreamUtils.nonClosing(outputStream)) {
+                queryUseCase.exportEvents(filter, event -> {
+                    try {
+                        out.write(objectMapper.writeValueAsBytes(event));
+                        out.write('\n');
+                    } catch (IOException e) {
+                        throw new UncheckedIOException(e);
+                    }
+                });
+            } catch (UncheckedIOException e) {
+                // Usually the client went away; no page is read after the failed write
+                throw e.getCause();
+            }
+        };
+
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok()
+                .contentType(NDJSON)
+                .header(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING);
+        if (gzip) {
+            response.header(HttpHeaders.CONTENT_ENCODING, "gzip");
+        }
+        return response.body(body);
+    }
+
     @GetMapping("/{notification_event_id}")
     @Operation(summary = "Get notification event details",
             description = "Retrieve details of a specific notification event")
@@ -89,6 +185,37 @@ public class NotificationController {
                 .orElse(ResponseEntity.badRequest().build());
     }
 
+    // Honors q-values, so "gzip;q=0" refuses gzip instead of matching it
+    static boolean acceptsGzip(String acceptEncoding) {
+        if (acceptEncoding == null) {
+            return false;
+        }
+        Double gzip = null;
+        Double any = null;
+        for (String coding : acceptEncoding.split(",")) {
+            String[] parts = coding.split(";");
+            String name = parts[0].trim().toLowerCase(Locale.ROOT);
+            double quality = 1.0;
+            for (int i = 1; i < parts.length; i++) {
+                String param = parts[i].trim().toLowerCase(Locale.ROOT);
+                if (param.startsWith("q=")) {
+                    try {
+                        quality = Double.parseDouble(param.substring(2).trim());
+                    } catch (NumberFormatException e) {
+                        quality = 0;
+                    }
+                }
+            }
+            if (name.equals("gzip") || name.equals("x-gzip")) {
+                gzip = quality;
+            } else if (name.equals("*")) {
+                any = quality;
+            }
+        }
+        double quality = gzip != null ? gzip : any != null ? any : 0;
+        return quality > 0;
+    }
+
     private String extractClientId(Authentication authentication) {
         return authentication.getName();
     }
@@ -8,12 +8,14 @@ public class NotificationEventFilter {
     private String eventDateFrom;
     private String eventDateTo;
     private String deliveryStatus;
+    private boolean includePayload;
 
     private NotificationEventFilter(Builder builder) {
         this.clientId = builder.clientId;
         this.eventDateFrom = builder.eventDateFrom;
         this.eventDateTo = builder.eventDateTo;
         this.deliveryStatus = builder.deliveryStatus;
+        this.includePayload = builder.includePayload;
     }
 
     public static Builder builder() {
@@ -25,6 +27,7 @@ public class NotificationEventFilter {
         private String eventDateFrom;
         private String eventDateTo;
         private String deliveryStatus;
+        private boolean includePayload = true;
 
         public Builder clientId(String clientId) {
             this.clientId = clientId;
@@ -46,6 +49,11 @@ public class NotificationEventFilter {
             return this;
         }
 
+        public Builder includePayload(boolean includePayload) {
+            this.includePayload = includePayload;
+            return this;
+        }
+
         public NotificationEventFilter build() {
             return new NotificationEventFilter(this);
         }
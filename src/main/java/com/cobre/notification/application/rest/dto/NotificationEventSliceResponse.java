@@ -0,0 +1,23 @@
+package com.cobre.notification.application.rest.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+import java.util.List;
+
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class NotificationEventSliceResponse {
+    private List<NotificationEventResponse> content;
+    private int size;
+    private String next;
+
+    public NotificationEventSliceResponse(List<NotificationEventResponse> content, String next) {
+        this.content = content;
+        this.size = content.size();
+        this.next = next;
+    }
+
+    // Getters
+    public List<NotificationEventResponse> getContent() { return content; }
+    public int getSize() { return size; }
+    public String getNext() { return next; }
+}
@@ -0,0 +1,32 @@
+package com.cobre.notification.domain.model;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.Base64;
+import java.util.UUID;
+
+/**
+ * Position in a client's event stream ordered by (created_at, id) descending. Encoded as an opaque
+ * token so clients cannot depend on its contents.
+ */
+public record EventCursor(Instant createdAt, UUID id) {
+
+    public static EventCursor of(NotificationEvent event) {
+        return new EventCursor(event.getCreatedAt(), event.getId());
+    }
+
+    public String encode() {
+        String raw = createdAt.toString() + '|' + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    public static EventCursor decode(String token) {
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+            int separator = raw.indexOf('|');
+            return new EventCursor(Instant.parse(raw.substring(0, separator)), UUID.fromString(raw.substring(separator + 1)));
+        } catch (RuntimeException e) {
+            throw new IllegalArgumentException("Invalid cursor: " + token);
+        }
+    }
+}
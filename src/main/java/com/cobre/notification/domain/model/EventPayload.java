@@ -0,0 +1,64 @@
+package com.cobre.notification.domain.model;
+
+import java.nio.charset.StandardCharsets;
+import java.util.function.Supplier;
+
+/**
+ * An event's JSON body as the UTF-8 bytes it was received with. They are stored, signed and sent
+ * as-is; a String is only built when something asks for one. Payloads read from storage may
+ * still be in their stored (compressed) form and are decoded on first access, so events that
+ * are loaded but never sent or shown do not pay for it.
+ */
+public final class EventPayload {
+
+    private Supplier<byte[]> decoder;
+    private volatile byte[] bytes;
+    private volatile String text;
+
+    private EventPayload(byte[] bytes, Supplier<byte[]> decoder) {
+        this.bytes = bytes;
+        this.decoder = decoder;
+    }
+
+    public static EventPayload of(byte[] bytes) {
+        return new EventPayload(bytes, null);
+    }
+
+    public static EventPayload of(String value) {
+        EventPayload payload = new EventPayload(value.getBytes(StandardCharsets.UTF_8), null);
+        payload.text = value;
+        return payload;
+    }
+
+    public static EventPayload lazy(Supplier<byte[]> decoder) {
+        return new EventPayload(null, decoder);
+    }
+
+    /**
+     * The raw bytes; callers must not modify them.
+     */
+    public byte[] bytes() {
+        byte[] result = bytes;
+        if (result == null) {
+            synchronized (this) {
+                result = bytes;
+                if (result == null) {
+                    result = decoder.get();
+                    bytes = result;
+                    // Drop the stored form once decoded
+                    decoder = null;
+                }
+            }
+        }
+        return result;
+    }
+
+    public String get() {
+        String result = text;
+        if (result == null) {
+            result = new String(bytes(), StandardCharsets.UTF_8);
+            text = result;
+        }
+        return result;
+    }
+}
@@ -1,5 +1,6 @@
 package com.cobre.notification.domain.model;
 
+import lombok.AccessLevel;
 import lombok.Getter;
 
 import java.time.Instant;
@@ -12,24 +13,41 @@ public class NotificationEvent {
     private UUID id;
     private String clientId;
     private String eventType;
-    private String eventData; // JSON string
+    @Getter(AccessLevel.NONE)
+    private EventPayload payload;
     private Instant createdAt;
     private String webhookUrl;
+    private UUID subscriptionId;
     private DeliveryStatus deliveryStatus;
     private int deliveryAttempts;
     private Instant lastAttemptAt;
+    private Instant nextAttemptAt;
     private Instant deliveredAt;
     private String errorMessage;
     private Integer responseCode;
+    private long version;
+    private String leaseOwner;
+    private Instant leaseExpiresAt;
 
     // Constructor
     public NotificationEvent(UUID id, String clientId, String eventType,
                              String eventData, String webhookUrl) {
+        this(id, clientId, eventType, eventData, webhookUrl, null);
+    }
+
+    public NotificationEvent(UUID id, String clientId, String eventType,
+                             String eventData, String webhookUrl, UUID subscriptionId) {
+        this(id, clientId, eventType, EventPayload.of(eventData), webhookUrl, subscriptionId);
+    }
+
+    public NotificationEvent(UUID id, String clientId, String eventType,
+                             EventPayload payload, String webhookUrl, UUID subscriptionId) {
         this.id = id;
         this.clientId = clientId;
         this.eventType = eventType;
-        this.eventData = eventData;
+        this.payload = payload;
         this.webhookUrl = webhookUrl;
+        this.subscriptionId = subscriptionId;
         this.createdAt = Instant.now();
         this.deliveryStatus = DeliveryStatus.PENDING;
         this.deliveryAttempts = 0;
@@ -37,27 +55,53 @@ public class NotificationEvent {
 
     // For reconstruction from persistence
     public NotificationEvent(UUID id, String clientId, String eventType, String eventData,
-                             Instant createdAt, String webhookUrl, DeliveryStatus deliveryStatus,
-                             int deliveryAttempts, Instant lastAttemptAt, Instant deliveredAt,
-                             String errorMessage, Integer responseCode) {
+                             Instant createdAt, String webhookUrl, UUID subscriptionId,
+                             DeliveryStatus deliveryStatus, int deliveryAttempts, Instant lastAttemptAt, Instant nextAttemptAt,
+                             Instant deliveredAt, String errorMessage, Integer responseCode, long version) {
+        this(id, clientId, eventType, eventData != null ? EventPayload.of(eventData) : null, createdAt, webhookUrl,
+                subscriptionId, deliveryStatus, deliveryAttempts, lastAttemptAt, nextAttemptAt, deliveredAt,
+                errorMessage, responseCode, version, null, null);
+    }
+
+    // Payload is null when the event was read without it
+    public NotificationEvent(UUID id, String clientId, String eventType, EventPayload payload,
+                             Instant createdAt, String webhookUrl, UUID subscriptionId,
+                             DeliveryStatus deliveryStatus, int deliveryAttempts, Instant lastAttemptAt, Instant nextAttemptAt,
+                             Instant deliveredAt, String errorMessage, Integer responseCode, long version,
+                             String leaseOwner, Instant leaseExpiresAt) {
         this.id = id;
         this.clientId = clientId;
         this.eventType = eventType;
-        this.eventData = eventData;
+        this.payload = payload;
         this.createdAt = createdAt;
         this.webhookUrl = webhookUrl;
+        this.subscriptionId = subscriptionId;
         this.deliveryStatus = deliveryStatus;
         this.deliveryAttempts = deliveryAttempts;
         this.lastAttemptAt = lastAttemptAt;
+        this.nextAttemptAt = nextAttemptAt;
         this.deliveredAt = deliveredAt;
         this.errorMessage = errorMessage;
         this.responseCode = responseCode;
+        this.version = version;
+        this.leaseOwner = leaseOwner;
+        this.leaseExpiresAt = leaseExpiresAt;
+    }
+
+    public String getEventData() {
+        return payload != null ? payload.get() : null;
+    }
+
+    // The payload exactly as received, for signing and sending without re-encoding
+    public byte[] getPayloadBytes() {
+        return payload != null ? payload.bytes() : null;
     }
 
     // Business logic methods
     public void markAsDelivered(int responseCode) {
         this.deliveryStatus = DeliveryStatus.DELIVERED;
         this.deliveredAt = Instant.now();
+        this.nextAttemptAt = null;
         this.responseCode = responseCode;
         this.errorMessage = null;
     }
@@ -70,9 +114,32 @@ public class NotificationEvent {
 
         if (this.deliveryAttempts >= 7) {
             this.deliveryStatus = DeliveryStatus.FAILED;
+            this.nextAttemptAt = null;
         } else {
             this.deliveryStatus = DeliveryStatus.RETRYING;
+            this.nextAttemptAt = this.lastAttemptAt.plusSeconds(getNextRetryDelaySeconds());
+        }
+    }
+
+    public void deferUntil(Instant nextAttemptAt) {
+        // Postpones delivery without consuming an attempt
+        this.deliveryStatus = DeliveryStatus.RETRYING;
+        this.nextAttemptAt = nextAttemptAt;
+    }
+
+    /**
+     * A retry may only be sent once it is due and while no other node holds a live lease on it;
+     * otherwise it was rescheduled or claimed elsewhere since it was queued here.
+     */
+    public boolean isSendableBy(String nodeId, Instant now) {
+        if (deliveryStatus != DeliveryStatus.RETRYING) {
+            return true;
+        }
+        if (nextAttemptAt != null && nextAttemptAt.isAfter(now)) {
+            return false;
         }
+        return leaseOwner == null || leaseOwner.equals(nodeId)
+                || leaseExpiresAt == null || !leaseExpiresAt.isAfter(now);
     }
 
     public boolean canRetry() {
@@ -91,6 +158,7 @@ public class NotificationEvent {
         this.deliveryStatus = DeliveryStatus.PENDING;
         this.deliveryAttempts = 0;
         this.lastAttemptAt = null;
+        this.nextAttemptAt = null;
         this.deliveredAt = null;
         this.errorMessage = null;
         this.responseCode = null;
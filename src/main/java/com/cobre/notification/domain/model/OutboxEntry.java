@@ -0,0 +1,6 @@
+package com.cobre.notification.domain.model;
+
+import java.util.UUID;
+
+public record OutboxEntry(long id, UUID notificationId, String clientId) {
+}
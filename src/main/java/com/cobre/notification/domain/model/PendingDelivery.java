@@ -0,0 +1,6 @@
+package com.cobre.notification.domain.model;
+
+import java.util.UUID;
+
+public record PendingDelivery(UUID notificationId, String clientId) {
+}
@@ -0,0 +1,7 @@
+package com.cobre.notification.domain.model;
+
+import java.time.Instant;
+import java.util.UUID;
+
+public record ScheduledRetry(UUID notificationId, Instant nextAttemptAt) {
+}
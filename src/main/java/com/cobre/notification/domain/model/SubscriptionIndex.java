@@ -0,0 +1,100 @@
+package com.cobre.notification.domain.model;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Immutable trie of one client's active subscriptions, keyed by dotted event-type segments.
+ * Matching walks at most the depth of the event type per wildcard branch, independent of how
+ * many subscriptions the client has. See {@link WebhookSubscription#matchesEventType} for the
+ * pattern syntax.
+ */
+public final class SubscriptionIndex {
+
+    private static final SubscriptionIndex EMPTY = new SubscriptionIndex(List.of());
+
+    private final Node root = new Node();
+    private final int size;
+
+    private SubscriptionIndex(Collection<WebhookSubscription> subscriptions) {
+        int count = 0;
+        for (WebhookSubscription subscription : subscriptions) {
+            if (!subscription.isActive()) {
+                continue;
+            }
+            Node node = root;
+            for (String segment : subscription.getEventType().split("\\.")) {
+                node = node.child(segment);
+            }
+            node.subscriptions.add(subscription);
+            count++;
+        }
+        this.size = count;
+    }
+
+    public static SubscriptionIndex of(Collection<WebhookSubscription> subscriptions) {
+        return subscriptions.isEmpty() ? EMPTY : new SubscriptionIndex(subscriptions);
+    }
+
+    public static SubscriptionIndex empty() {
+        return EMPTY;
+    }
+
+    public List<WebhookSubscription> match(String eventType) {
+        if (size == 0) {
+            return List.of();
+        }
+        // '#' can reach the same subscription along several paths
+        Set<WebhookSubscription> matches = new LinkedHashSet<>();
+        collect(root, eventType.split("\\."), 0, matches);
+        return matches.isEmpty() ? List.of() : new ArrayList<>(matches);
+    }
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    private static void collect(Node node, String[] segments, int index, Set<WebhookSubscription> matches) {
+        if (node.multiWildcard != null) {
+            for (int next = index; next <= segments.length; next++) {
+                collect(node.multiWildcard, segments, next, matches);
+            }
+        }
+        if (index == segments.length) {
+            matches.addAll(node.subscriptions);
+            return;
+        }
+        Node exact = node.children.get(segments[index]);
+        if (exact != null) {
+            collect(exact, segments, index + 1, matches);
+        }
+        if (node.singleWildcard != null) {
+            collect(node.singleWildcard, segments, index + 1, matches);
+        }
+    }
+
+    private static final class Node {
+        private final Map<String, Node> children = new HashMap<>();
+        private final List<WebhookSubscription> subscriptions = new ArrayList<>(1);
+        private Node singleWildcard;
+        private Node multiWildcard;
+
+        private Node child(String segment) {
+            return switch (segment) {
+                case "*" -> singleWildcard != null ? singleWildcard : (singleWildcard = new Node());
+                case "#" -> multiWildcard != null ? multiWildcard : (multiWildcard = new Node());
+                default -> children.computeIfAbsent(segment, key -> new Node());
+            };
+        }
+    }
+}
@@ -14,6 +14,9 @@ public class WebhookSubscription {
     private String secretKey;
     private boolean active;
     private Instant createdAt;
+    private Integer rateLimitPerSecond;
+    private Integer batchMaxEvents;
+    private Integer batchMaxWaitMs;
 
     public WebhookSubscription(UUID id, String clientId, String eventType,
                                String webhookUrl, String secretKey) {
@@ -26,10 +29,58 @@ public class WebhookSubscription {
         this.createdAt = Instant.now();
     }
 
+    // For reconstruction from persistence
+    public WebhookSubscription(UUID id, String clientId, String eventType, String webhookUrl,
+                               String secretKey, boolean active, Instant createdAt,
+                               Integer rateLimitPerSecond, Integer batchMaxEvents, Integer batchMaxWaitMs) {
+        this.id = id;
+        this.clientId = clientId;
+        this.eventType = eventType;
+        this.webhookUrl = webhookUrl;
+        this.secretKey = secretKey;
+        this.active = active;
+        this.createdAt = createdAt;
+        this.rateLimitPerSecond = rateLimitPerSecond;
+        this.batchMaxEvents = batchMaxEvents;
+        this.batchMaxWaitMs = batchMaxWaitMs;
+    }
+
+    /**
+     * Whether events for this subscription are sent several per request, as a JSON array.
+     */
+    public boolean isBatched() {
+        return batchMaxEvents != null && batchMaxEvents > 1;
+    }
+
     public boolean isActiveFor(String clientId, String eventType) {
         return this.active &&
                 this.clientId.equals(clientId) &&
-                this.eventType.equals(eventType);
+                matchesEventType(eventType);
+    }
+
+    /**
+     * The subscription's event type is a dotted pattern where {@code *} matches exactly one segment
+     * and {@code #} matches zero or more, e.g. {@code payment.*} or {@code payment.#}.
+     */
+    public boolean matchesEventType(String eventType) {
+        return matches(this.eventType.split("\\."), 0, eventType.split("\\."), 0);
+    }
+
+    private static boolean matches(String[] pattern, int p, String[] segments, int s) {
+        if (p == pattern.length) {
+            return s == segments.length;
+        }
+        if (pattern[p].equals("#")) {
+            for (int next = s; next <= segments.length; next++) {
+                if (matches(pattern, p + 1, segments, next)) {
+                    return true;
+                }
+            }
+            return false;
+        }
+        return s < segments.length &&
+                (pattern[p].equals("*") || pattern[p].equals(segments[s])) &&
+                matches(pattern, p + 1, segments, s + 1);
     }
 
     public void setActive(boolean active) { this.active = active; }
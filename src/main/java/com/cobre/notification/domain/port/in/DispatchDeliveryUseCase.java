@@ -0,0 +1,8 @@
+package com.cobre.notification.domain.port.in;
+
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+
+public interface DispatchDeliveryUseCase {
+    CompletableFuture<Void> dispatch(String clientId, UUID notificationId);
+}
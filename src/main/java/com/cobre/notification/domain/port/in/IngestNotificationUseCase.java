@@ -0,0 +1,9 @@
+package com.cobre.notification.domain.port.in;
+
+import com.cobre.notification.application.messaging.dto.NotificationEventMessage;
+
+import java.util.List;
+
+public interface IngestNotificationUseCase {
+    int ingest(List<NotificationEventMessage> messages);
+}
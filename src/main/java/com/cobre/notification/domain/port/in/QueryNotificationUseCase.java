@@ -2,13 +2,17 @@ package com.cobre.notification.domain.port.in;
 
 import com.cobre.notification.application.rest.dto.NotificationEventFilter;
 import com.cobre.notification.application.rest.dto.NotificationEventResponse;
+import com.cobre.notification.application.rest.dto.NotificationEventSliceResponse;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 
 import java.util.Optional;
 import java.util.UUID;
+import java.util.function.Consumer;
 
 public interface QueryNotificationUseCase {
     Page<NotificationEventResponse> queryEvents(NotificationEventFilter filter, Pageable pageable);
+    NotificationEventSliceResponse scrollEvents(NotificationEventFilter filter, String cursor, int limit);
+    void exportEvents(NotificationEventFilter filter, Consumer<NotificationEventResponse> consumer);
     Optional<NotificationEventResponse> getEventById(UUID eventId, String clientId);
 }
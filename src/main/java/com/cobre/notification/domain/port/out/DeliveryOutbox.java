@@ -0,0 +1,24 @@
+package com.cobre.notification.domain.port.out;
+
+import com.cobre.notification.domain.model.OutboxEntry;
+import com.cobre.notification.domain.model.PendingDelivery;
+
+import java.time.Duration;
+import java.util.Collection;
+import java.util.List;
+
+public interface DeliveryOutbox {
+    /**
+     * Adds the deliveries in the caller's transaction.
+     */
+    void enqueue(List<PendingDelivery> deliveries);
+    /**
+     * Leases up to {@code limit} entries, oldest first, skipping entries leased by other nodes.
+     */
+    List<OutboxEntry> claim(String nodeId, int limit, Duration leaseDuration);
+    /**
+     * Pushes out the leases this node still holds on {@code ids}; entries it no longer holds are left alone.
+     */
+    void extendLeases(String nodeId, Collection<Long> ids, Duration leaseDuration);
+    void remove(Collection<Long> ids);
+}
@@ -1,23 +1,77 @@
 package com.cobre.notification.domain.port.out;
 
+import com.cobre.notification.domain.model.DeliveryStatus;
+import com.cobre.notification.domain.model.EventCursor;
 import com.cobre.notification.domain.model.NotificationEvent;
+import com.cobre.notification.domain.model.PendingDelivery;
+import com.cobre.notification.domain.model.ScheduledRetry;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 
+import java.time.Duration;
 import java.time.Instant;
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
+import java.util.Set;
 import java.util.UUID;
 
 public interface NotificationRepository {
-    NotificationEvent save(NotificationEvent event);
+    void insertBatch(List<NotificationEvent> events);
+    /**
+     * Writes the delivery columns of each event whose stored version still matches
+     * and returns the ids that were written.
+     */
+    Set<UUID> updateStatusBatch(List<NotificationEvent> events);
+    /**
+     * Writes only the delivery columns, if the row is still at {@code expectedVersion}.
+     * Returns false when the row was changed concurrently.
+     */
+    boolean recordAttempt(UUID id, long expectedVersion, DeliveryStatus status, int attempts,
+                          Instant lastAttemptAt, Instant nextAttemptAt, Instant deliveredAt,
+                          Integer responseCode, String errorMessage);
     Optional<NotificationEvent> findById(UUID id);
+    /**
+     * Events with the given ids in one read; ids that do not exist are left out.
+     */
+    List<NotificationEvent> findAllById(Collection<UUID> ids);
     Optional<NotificationEvent> findByIdAndClientId(UUID id, String clientId);
+    /**
+     * Page of a client's events. Without {@code includePayload} the event data is not read
+     * and is null on the returned events.
+     */
     Page<NotificationEvent> findByClientIdWithFilters(
             String clientId,
             Instant eventDateFrom,
             Instant eventDateTo,
             String deliveryStatus,
-            Pageable pageable
+            Pageable pageable,
+            boolean includePayload
     );
-    Page<NotificationEvent> findPendingRetries(Instant retryThreshold, Pageable pageable);
+    /**
+     * Keyset page of a client's events, newest first, strictly after {@code after}
+     * (or from the newest event when null). Does not count the total. Event data is
+     * null unless {@code includePayload} is set.
+     */
+    Slice<NotificationEvent> findByClientIdAfter(
+            String clientId,
+            Instant eventDateFrom,
+            Instant eventDateTo,
+            String deliveryStatus,
+            EventCursor after,
+            int limit,
+            boolean includePayload
+    );
+    /**
+     * Keyset page of retrying events by due time, strictly after {@code after}
+     * (or from the earliest when null). Reads only the id and due time.
+     */
+    List<ScheduledRetry> findScheduledRetries(ScheduledRetry after, int limit);
+    List<PendingDelivery> claimDueRetries(String nodeId, int limit, Duration leaseDuration);
+    /**
+     * Pushes back the lease expiry of those retries still leased to {@code nodeId}.
+     */
+    void extendRetryLeases(String nodeId, Collection<UUID> ids, Duration leaseDuration);
+    void defer(UUID id, Instant nextAttemptAt);
 }
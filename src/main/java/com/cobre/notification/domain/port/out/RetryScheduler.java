@@ -0,0 +1,8 @@
+package com.cobre.notification.domain.port.out;
+
+import java.time.Instant;
+import java.util.UUID;
+
+public interface RetryScheduler {
+    void schedule(UUID notificationId, Instant dueAt);
+}
@@ -1,9 +1,12 @@
 package com.cobre.notification.domain.port.out;
 
+import com.cobre.notification.domain.model.SubscriptionIndex;
 import com.cobre.notification.domain.model.WebhookSubscription;
 
 import java.util.Optional;
+import java.util.UUID;
 
 public interface SubscriptionRepository {
-    Optional<WebhookSubscription> findByClientIdAndEventType(String clientId, String eventType);
-}
\ No newline at end of file
+    SubscriptionIndex findIndexByClientId(String clientId);
+    Optional<WebhookSubscription> findById(UUID id);
+}
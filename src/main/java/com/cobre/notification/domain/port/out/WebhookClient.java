@@ -1,26 +1,47 @@
 package com.cobre.notification.domain.port.out;
 
+import java.time.Duration;
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
 
 public interface WebhookClient {
-    WebhookResponse post(String url, String payload, Map<String, String> headers);
+    /**
+     * Posts {@code payload} as the request body byte for byte.
+     */
+    WebhookResponse post(String url, byte[] payload, Map<String, String> headers);
+
+    default CompletableFuture<WebhookResponse> postAsync(String url, byte[] payload, Map<String, String> headers) {
+        try {
+            return CompletableFuture.completedFuture(post(url, payload, headers));
+        } catch (Exception e) {
+            return CompletableFuture.failedFuture(e);
+        }
+    }
 
     class WebhookResponse {
         private final int statusCode;
         private final String responseBody;
         private final String errorMessage;
         private final boolean success;
+        private final Duration retryAfter;
 
         public WebhookResponse(int statusCode, String responseBody, String errorMessage, boolean success) {
+            this(statusCode, responseBody, errorMessage, success, null);
+        }
+
+        public WebhookResponse(int statusCode, String responseBody, String errorMessage, boolean success,
+                               Duration retryAfter) {
             this.statusCode = statusCode;
             this.responseBody = responseBody;
             this.errorMessage = errorMessage;
             this.success = success;
+            this.retryAfter = retryAfter;
         }
 
         public int getStatusCode() { return statusCode; }
         public String getResponseBody() { return responseBody; }
         public String getErrorMessage() { return errorMessage; }
         public boolean isSuccess() { return success; }
+        public Duration getRetryAfter() { return retryAfter; }
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,188 @@
+package com.cobre.notification.domain.service;
+
+import com.cobre.notification.domain.model.NotificationEvent;
+import com.cobre.notification.domain.model.WebhookSubscription;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.BiFunction;
+
+/**
+ * Collects events for batched subscriptions into one request per endpoint. A batch is sent when it
+ * reaches the subscription's {@code batchMaxEvents}, or once its first event has waited
+ * {@code batchMaxWaitMs}. Each event's future completes when the batch it went out in has
+ * completed, so callers see the same lifecycle as a single delivery. Until then each event holds
+ * one of the {@link FairDeliveryDispatcher}'s in-flight permits, so the events waiting across all
+ * open batches are capped at half of {@code webhook.dispatcher.max-in-flight}. Reaching the cap
+ * sends the batch that reached it straight away, and the other half of the permits stays free for
+ * sends.
+ */
+@Component
+public class DeliveryBatcher {
+
+    private static final Logger logger = LoggerFactory.getLogger(DeliveryBatcher.class);
+
+    private final Duration defaultMaxWait;
+    private final int maxWaitingEvents;
+    private final Executor flushExecutor;
+    private final Map<BatchKey, Batch> open = new ConcurrentHashMap<>();
+    private final AtomicInteger waiting = new AtomicInteger();
+
+    public DeliveryBatcher(@Value("${webhook.batch.default-max-wait:500ms}") Duration defaultMaxWait,
+                           @Value("${webhook.dispatcher.max-in-flight:500}") int dispatcherMaxInFlight,
+                           @Qualifier("taskExecutor") Executor flushExecutor) {
+        this.defaultMaxWait = defaultMaxWait;
+        this.maxWaitingEvents = Math.max(1, dispatcherMaxInFlight / 2);
+        this.flushExecutor = flushExecutor;
+    }
+
+    /**
+     * Adds the event to its endpoint's open batch; {@code sender} delivers a full batch and
+     * completes once every outcome in it is stored.
+     */
+    public CompletableFuture<Void> add(WebhookSubscription subscription, NotificationEvent event,
+                                       BiFunction<WebhookSubscription, List<NotificationEvent>, CompletableFuture<Void>> sender) {
+        BatchKey key = new BatchKey(subscription.getId(), event.getWebhookUrl());
+        CompletableFuture<Void> delivered = new CompletableFuture<>();
+        Batch[] full = new Batch[1];
+
+        open.compute(key, (k, batch) -> {
+            if (batch == null) {
+                batch = new Batch(subscription, sender);
+                scheduleFlush(k, batch, maxWait(subscription));
+            }
+            batch.events.add(event);
+            batch.delivered.add(delivered);
+            int waitingEvents = waiting.incrementAndGet();
+            if (batch.events.size() >= maxEvents(subscription) || waitingEvents >= maxWaitingEvents) {
+                waiting.addAndGet(-batch.events.size());
+                full[0] = batch;
+                return null;
+            }
+            return batch;
+        });
+
+        if (full[0] != null) {
+            flush(full[0]);
+        }
+        return delivered;
+    }
+
+    @PreDestroy
+    public void flushAll() {
+        for (BatchKey key : open.keySet()) {
+            Batch batch = open.remove(key);
+            if (batch != null) {
+                waiting.addAndGet(-batch.events.size());
+                flush(batch);
+            }
+        }
+    }
+
+    private void scheduleFlush(BatchKey key, Batch batch, Duration wait) {
+        CompletableFuture.delayedExecutor(wait.toMillis(), TimeUnit.MILLISECONDS, flushExecutor)
+                .execute(() -> {
+                    // Only if it has not already gone out full
+                    if (open.remove(key, batch)) {
+                        waiting.addAndGet(-batch.events.size());
+                        flush(batch);
+                    }
+                });
+    }
+
+    private void flush(Batch batch) {
+        CompletableFuture<Void> sent;
+        try {
+            sent = batch.sender.apply(batch.subscription, batch.events);
+        } catch (Exception e) {
+            sent = CompletableFuture.failedFuture(e);
+        }
+        sent.whenComplete((ignored, error) -> {
+            if (error != null) {
+                logger.error("Batch of {} events to {} failed", batch.events.size(),
+                        batch.events.get(0).getWebhookUrl(), error);
+                batch.delivered.forEach(future -> future.completeExceptionally(error));
+            } else {
+                batch.delivered.forEach(future -> future.complete(null));
+            }
+        });
+    }
+
+    private int maxEvents(WebhookSubscription subscription) {
+        return Math.min(subscription.getBatchMaxEvents(), maxWaitingEvents);
+    }
+
+    private Duration maxWait(WebhookSubscription subscription) {
+        return subscription.getBatchMaxWaitMs() != null ?
+                Duration.ofMillis(subscription.getBatchMaxWaitMs()) : defaultMaxWait;
+    }
+
+    /**
+     * The request body: a JSON array with one {@code {"id", "eventType", "data"}} object per event,
+     * where {@code data} is the event's payload bytes copied as-is.
+     */
+    static byte[] encode(List<NotificationEvent> events) {
+        ByteArrayOutputStream body = new ByteArrayOutputStream(
+                events.stream().mapToInt(event -> event.getPayloadBytes().length + 96).sum());
+        body.write('[');
+        for (int i = 0; i < events.size(); i++) {
+            NotificationEvent event = events.get(i);
+            if (i > 0) {
+                body.write(',');
+            }
+            body.writeBytes(("{\"id\":\"" + event.getId() + "\",\"eventType\":" + quote(event.getEventType())
+                    + ",\"data\":").getBytes(StandardCharsets.UTF_8));
+            body.writeBytes(event.getPayloadBytes());
+            body.write('}');
+        }
+        body.write(']');
+        return body.toByteArray();
+    }
+
+    private static String quote(String value) {
+        StringBuilder quoted = new StringBuilder(value.length() + 2).append('"');
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            if (c == '"' || c == '\\') {
+                quoted.append('\\').append(c);
+            } else if (c < 0x20) {
+                quoted.append(String.format("\\u%04x", (int) c));
+            } else {
+                quoted.append(c);
+            }
+        }
+        return quoted.append('"').toString();
+    }
+
+    private record BatchKey(UUID subscriptionId, String webhookUrl) {
+    }
+
+    private static final class Batch {
+        private final WebhookSubscription subscription;
+        private final BiFunction<WebhookSubscription, List<NotificationEvent>, CompletableFuture<Void>> sender;
+        private final List<NotificationEvent> events = new ArrayList<>();
+        private final List<CompletableFuture<Void>> delivered = new ArrayList<>();
+
+        private Batch(WebhookSubscription subscription,
+                      BiFunction<WebhookSubscription, List<NotificationEvent>, CompletableFuture<Void>> sender) {
+            this.subscription = subscription;
+            this.sender = sender;
+        }
+    }
+}
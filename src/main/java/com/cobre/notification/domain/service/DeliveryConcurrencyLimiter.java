@@ -0,0 +1,61 @@
+package com.cobre.notification.domain.service;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Semaphore;
+
+/**
+ * Caps in-flight deliveries globally and per client. Permits are held until the delivery
+ * outcome is recorded, so the caps also bound requests parked in a non-blocking HTTP client.
+ * A limit of 0 disables that cap.
+ */
+@Component
+public class DeliveryConcurrencyLimiter {
+
+    private final Semaphore global;
+    private final int maxInFlightPerTenant;
+    private final Map<String, Semaphore> tenants = new ConcurrentHashMap<>();
+
+    public DeliveryConcurrencyLimiter(@Value("${webhook.delivery.executor.max-in-flight:0}") int maxInFlight,
+                                      @Value("${webhook.delivery.executor.max-in-flight-per-tenant:0}") int maxInFlightPerTenant) {
+        this.global = maxInFlight > 0 ? new Semaphore(maxInFlight) : null;
+        this.maxInFlightPerTenant = maxInFlightPerTenant;
+    }
+
+    public void acquire(String clientId) throws InterruptedException {
+        Semaphore tenant = tenantPermits(clientId);
+        if (tenant != null) {
+            tenant.acquire();
+        }
+        if (global != null) {
+            try {
+                global.acquire();
+            } catch (InterruptedException e) {
+                if (tenant != null) {
+                    tenant.release();
+                }
+                throw e;
+            }
+        }
+    }
+
+    public void release(String clientId) {
+        if (global != null) {
+            global.release();
+        }
+        Semaphore tenant = tenantPermits(clientId);
+        if (tenant != null) {
+            tenant.release();
+        }
+    }
+
+    private Semaphore tenantPermits(String clientId) {
+        if (maxInFlightPerTenant <= 0) {
+            return null;
+        }
+        return tenants.computeIfAbsent(clientId, id -> new Semaphore(maxInFlightPerTenant));
+    }
+}
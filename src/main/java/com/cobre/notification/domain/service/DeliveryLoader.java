@@ -0,0 +1,120 @@
+package com.cobre.notification.domain.service;
+
+import com.cobre.notification.domain.model.NotificationEvent;
+import com.cobre.notification.domain.port.out.NotificationRepository;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * First stage of delivery: loads notifications in batches. Requests that arrive while a read is
+ * in progress are fetched together in the next single query, the same way
+ * {@link DeliveryStatusWriter} groups writes. The queue is bounded; when it is full the caller
+ * loads on its own thread, which slows dispatch down to what the database keeps up with.
+ */
+@Component
+public class DeliveryLoader {
+
+    private static final Logger logger = LoggerFactory.getLogger(DeliveryLoader.class);
+
+    private final NotificationRepository notificationRepository;
+    private final int maxBatchSize;
+    private final BlockingQueue<PendingLoad> queue;
+    private volatile Thread loader;
+
+    public DeliveryLoader(NotificationRepository notificationRepository,
+                          MeterRegistry meterRegistry,
+                          @Value("${webhook.pipeline.load.batch-size:500}") int maxBatchSize,
+                          @Value("${webhook.pipeline.load.queue-capacity:10000}") int queueCapacity) {
+        this.notificationRepository = notificationRepository;
+        this.maxBatchSize = maxBatchSize;
+        this.queue = new ArrayBlockingQueue<>(queueCapacity);
+
+        Gauge.builder("webhook.pipeline.queue.depth", queue, BlockingQueue::size)
+                .description("Work waiting for a delivery pipeline stage")
+                .tag("stage", "load")
+                .register(meterRegistry);
+    }
+
+    @PostConstruct
+    public void start() {
+        loader = new Thread(this::run, "delivery-loader");
+        loader.setDaemon(true);
+        loader.start();
+    }
+
+    @PreDestroy
+    public void stop() {
+        Thread current = loader;
+        loader = null;
+        if (current != null) {
+            current.interrupt();
+        }
+    }
+
+    public CompletableFuture<Optional<NotificationEvent>> load(UUID notificationId) {
+        PendingLoad pending = new PendingLoad(notificationId, new CompletableFuture<>());
+        if (loader == null || !queue.offer(pending)) {
+            // Not running (tests, shutdown) or saturated: load on the caller's thread
+            fetch(List.of(pending));
+        }
+        return pending.loaded();
+    }
+
+    private void run() {
+        List<PendingLoad> batch = new ArrayList<>(maxBatchSize);
+        while (!Thread.currentThread().isInterrupted()) {
+            try {
+                batch.add(queue.take());
+                queue.drainTo(batch, maxBatchSize - 1);
+                fetch(batch);
+                batch.clear();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+        queue.drainTo(batch);
+        if (!batch.isEmpty()) {
+            fetch(batch);
+        }
+    }
+
+    private void fetch(List<PendingLoad> batch) {
+        try {
+            if (batch.size() == 1) {
+                PendingLoad pending = batch.get(0);
+                pending.loaded().complete(notificationRepository.findById(pending.notificationId()));
+                return;
+            }
+            Map<UUID, NotificationEvent> events = notificationRepository
+                    .findAllById(batch.stream().map(PendingLoad::notificationId).distinct().toList())
+                    .stream()
+                    .collect(Collectors.toMap(NotificationEvent::getId, Function.identity(), (a, b) -> a));
+            batch.forEach(pending -> pending.loaded().complete(
+                    Optional.ofNullable(events.get(pending.notificationId()))));
+        } catch (Throwable e) {
+            // As in the status writer: an Error must not end the loader thread or strand callers
+            logger.error("Failed to load {} notifications", batch.size(), e);
+            batch.forEach(pending -> pending.loaded().completeExceptionally(e));
+        }
+    }
+
+    private record PendingLoad(UUID notificationId, CompletableFuture<Optional<NotificationEvent>> loaded) {
+    }
+}
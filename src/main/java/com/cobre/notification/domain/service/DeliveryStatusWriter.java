@@ -0,0 +1,130 @@
+package com.cobre.notification.domain.service;
+
+import com.cobre.notification.domain.model.NotificationEvent;
+import com.cobre.notification.domain.port.out.NotificationRepository;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Group commit for delivery outcomes. Outcomes that arrive while a write is in progress are
+ * flushed together in the next multi-row update, so batches grow with load without adding
+ * latency when idle. Callers get a future that completes once their row is written, with
+ * {@code false} if the row had been changed concurrently and the outcome was dropped.
+ * The queue is bounded; when it is full the caller writes its own outcome.
+ */
+@Component
+public class DeliveryStatusWriter {
+
+    private static final Logger logger = LoggerFactory.getLogger(DeliveryStatusWriter.class);
+
+    private final NotificationRepository notificationRepository;
+    private final int maxBatchSize;
+    private final BlockingQueue<PendingWrite> queue;
+    private volatile Thread writer;
+
+    public DeliveryStatusWriter(NotificationRepository notificationRepository,
+                                MeterRegistry meterRegistry,
+                                @Value("${webhook.delivery.status-batch-size:500}") int maxBatchSize,
+                                @Value("${webhook.pipeline.record.queue-capacity:10000}") int queueCapacity) {
+        this.notificationRepository = notificationRepository;
+        this.maxBatchSize = maxBatchSize;
+        this.queue = new ArrayBlockingQueue<>(queueCapacity);
+
+        Gauge.builder("webhook.pipeline.queue.depth", queue, BlockingQueue::size)
+                .description("Work waiting for a delivery pipeline stage")
+                .tag("stage", "record")
+                .register(meterRegistry);
+    }
+
+    @PostConstruct
+    public void start() {
+        writer = new Thread(this::run, "delivery-status-writer");
+        writer.setDaemon(true);
+        writer.start();
+    }
+
+    @PreDestroy
+    public void stop() {
+        Thread current = writer;
+        writer = null;
+        if (current != null) {
+            current.interrupt();
+        }
+    }
+
+    public CompletableFuture<Boolean> submit(NotificationEvent event) {
+        PendingWrite pending = new PendingWrite(event, new CompletableFuture<>());
+        if (writer == null || !queue.offer(pending)) {
+            // Not running (tests, shutdown) or saturated: write on the caller's thread
+            write(List.of(pending));
+        }
+        return pending.written();
+    }
+
+    private void run() {
+        List<PendingWrite> batch = new ArrayList<>(maxBatchSize);
+        while (!Thread.currentThread().isInterrupted()) {
+            try {
+                batch.add(queue.take());
+                queue.drainTo(batch, maxBatchSize - 1);
+                write(batch);
+                batch.clear();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+        // Flush what was queued before shutdown
+        queue.drainTo(batch);
+        if (!batch.isEmpty()) {
+            write(batch);
+        }
+    }
+
+    private void write(List<PendingWrite> batch) {
+        try {
+            if (batch.size() == 1) {
+                PendingWrite pending = batch.get(0);
+                pending.written().complete(recordAttempt(pending.event()));
+                return;
+            }
+            Set<UUID> written = notificationRepository.updateStatusBatch(
+                    batch.stream().map(PendingWrite::event).toList());
+            batch.forEach(pending -> pending.written().complete(written.contains(pending.event().getId())));
+        } catch (Throwable e) {
+            // Errors included: the writer thread must survive and no caller may be left waiting
+            logger.error("Failed to write {} delivery outcomes", batch.size(), e);
+            batch.forEach(pending -> pending.written().completeExceptionally(e));
+        }
+    }
+
+    private boolean recordAttempt(NotificationEvent event) {
+        return notificationRepository.recordAttempt(
+                event.getId(),
+                event.getVersion(),
+                event.getDeliveryStatus(),
+                event.getDeliveryAttempts(),
+                event.getLastAttemptAt(),
+                event.getNextAttemptAt(),
+                event.getDeliveredAt(),
+                event.getResponseCode(),
+                event.getErrorMessage()
+        );
+    }
+
+    private record PendingWrite(NotificationEvent event, CompletableFuture<Boolean> written) {
+    }
+}
@@ -0,0 +1,81 @@
+package com.cobre.notification.domain.service;
+
+import io.github.resilience4j.circuitbreaker.CircuitBreaker;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.net.URI;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * One circuit breaker per webhook host, created on first use and evicted once it has been
+ * idle and closed for a while, so a failing endpoint only trips its own breaker.
+ */
+@Component
+public class EndpointCircuitBreakers {
+
+    private static final Logger logger = LoggerFactory.getLogger(EndpointCircuitBreakers.class);
+    private static final String CONFIG_NAME = "webhookEndpoint";
+    private static final String NAME_PREFIX = "webhook:";
+
+    private final CircuitBreakerRegistry registry;
+    private final Duration idleTimeout;
+    private final Duration parkDuration;
+    private final Map<String, Instant> lastUsed = new ConcurrentHashMap<>();
+
+    public EndpointCircuitBreakers(CircuitBreakerRegistry registry,
+                                   @Value("${webhook.circuit-breaker.idle-timeout:30m}") Duration idleTimeout,
+                                   @Value("${webhook.circuit-breaker.park-duration:60s}") Duration parkDuration) {
+        this.registry = registry;
+        this.idleTimeout = idleTimeout;
+        this.parkDuration = parkDuration;
+    }
+
+    public CircuitBreaker forUrl(String webhookUrl) {
+        String name = NAME_PREFIX + hostOf(webhookUrl);
+        lastUsed.put(name, Instant.now());
+        return registry.getConfiguration(CONFIG_NAME)
+                .map(config -> registry.circuitBreaker(name, config))
+                .orElseGet(() -> registry.circuitBreaker(name));
+    }
+
+    public Duration getParkDuration() {
+        return parkDuration;
+    }
+
+    @Scheduled(fixedDelayString = "${webhook.circuit-breaker.eviction-interval:300000}")
+    public void evictIdle() {
+        Instant cutoff = Instant.now().minus(idleTimeout);
+        lastUsed.entrySet().removeIf(entry -> {
+            if (entry.getValue().isAfter(cutoff)) {
+                return false;
+            }
+            // Open or half-open breakers keep their state until the endpoint recovers
+            boolean closed = registry.find(entry.getKey())
+                    .map(breaker -> breaker.getState() == CircuitBreaker.State.CLOSED)
+                    .orElse(true);
+            if (closed) {
+                registry.remove(entry.getKey());
+                logger.debug("Evicted idle circuit breaker {}", entry.getKey());
+            }
+            return closed;
+        });
+    }
+
+    private String hostOf(String webhookUrl) {
+        try {
+            String authority = URI.create(webhookUrl).getAuthority();
+            return authority != null ? authority.toLowerCase(Locale.ROOT) : webhookUrl;
+        } catch (IllegalArgumentException e) {
+            return webhookUrl;
+        }
+    }
+}
@@ -0,0 +1,131 @@
+package com.cobre.notification.domain.service;
+
+import io.github.resilience4j.ratelimiter.RateLimiter;
+import io.github.resilience4j.ratelimiter.RateLimiterConfig;
+import io.github.resilience4j.ratelimiter.RateLimiterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Token bucket per webhook URL. The bucket starts at the subscription's configured rate (or the
+ * service default), is halved and paused for the Retry-After window whenever the endpoint answers
+ * 429, and climbs back by one request per second per second while the endpoint keeps accepting.
+ */
+@Component
+public class EndpointRateLimiters {
+
+    private static final Duration REFRESH_PERIOD = Duration.ofSeconds(1);
+    private static final String NAME_PREFIX = "webhook-endpoint:";
+
+    private final RateLimiterRegistry registry;
+    private final int defaultLimitPerSecond;
+    private final Duration maxQueueWait;
+    private final Duration defaultRetryAfter;
+    private final Duration idleTimeout;
+    private final Map<String, EndpointState> states = new ConcurrentHashMap<>();
+
+    public EndpointRateLimiters(RateLimiterRegistry registry,
+                                @Value("${webhook.rate-limit.default-per-second:50}") int defaultLimitPerSecond,
+                                @Value("${webhook.rate-limit.max-queue-wait:5s}") Duration maxQueueWait,
+                                @Value("${webhook.rate-limit.default-retry-after:30s}") Duration defaultRetryAfter,
+                                @Value("${webhook.rate-limit.idle-timeout:30m}") Duration idleTimeout) {
+        this.registry = registry;
+        this.defaultLimitPerSecond = defaultLimitPerSecond;
+        this.maxQueueWait = maxQueueWait;
+        this.defaultRetryAfter = defaultRetryAfter;
+        this.idleTimeout = idleTimeout;
+    }
+
+    /**
+     * Reserves a request slot. Returns the nanoseconds to wait before sending (0 to send now),
+     * or -1 when the endpoint is paused or no slot frees up within the maximum queue wait.
+     */
+    public long reservePermission(String webhookUrl, Integer subscriptionLimit) {
+        int configuredLimit = subscriptionLimit != null && subscriptionLimit > 0 ?
+                subscriptionLimit : defaultLimitPerSecond;
+        EndpointState state = states.compute(webhookUrl, (url, existing) ->
+                existing != null && existing.configuredLimit == configuredLimit ?
+                        existing : newState(url, configuredLimit));
+        state.lastUsed = Instant.now();
+
+        Instant pausedUntil = state.pausedUntil;
+        if (pausedUntil != null && Instant.now().isBefore(pausedUntil)) {
+            return -1;
+        }
+        return state.limiter.reservePermission();
+    }
+
+    public Instant throttledUntil(String webhookUrl) {
+        Instant now = Instant.now();
+        EndpointState state = states.get(webhookUrl);
+        Instant pausedUntil = state != null ? state.pausedUntil : null;
+        return pausedUntil != null && pausedUntil.isAfter(now) ? pausedUntil : now.plus(REFRESH_PERIOD);
+    }
+
+    public void onThrottled(String webhookUrl, Duration retryAfter) {
+        EndpointState state = states.get(webhookUrl);
+        if (state == null) {
+            return;
+        }
+        state.pausedUntil = Instant.now().plus(retryAfter != null ? retryAfter : defaultRetryAfter);
+        state.currentLimit = Math.max(1, state.currentLimit / 2);
+        state.limiter.changeLimitForPeriod(state.currentLimit);
+    }
+
+    public void onAccepted(String webhookUrl) {
+        EndpointState state = states.get(webhookUrl);
+        if (state == null || state.currentLimit >= state.configuredLimit) {
+            return;
+        }
+        long now = System.nanoTime();
+        if (now - state.lastIncreaseNanos >= REFRESH_PERIOD.toNanos()) {
+            state.lastIncreaseNanos = now;
+            state.currentLimit = Math.min(state.configuredLimit, state.currentLimit + 1);
+            state.limiter.changeLimitForPeriod(state.currentLimit);
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${webhook.rate-limit.eviction-interval:300000}")
+    public void evictIdle() {
+        Instant cutoff = Instant.now().minus(idleTimeout);
+        states.entrySet().removeIf(entry -> {
+            boolean idle = entry.getValue().lastUsed.isBefore(cutoff);
+            if (idle) {
+                registry.remove(NAME_PREFIX + entry.getKey());
+            }
+            return idle;
+        });
+    }
+
+    private EndpointState newState(String webhookUrl, int limit) {
+        String name = NAME_PREFIX + webhookUrl;
+        registry.remove(name);
+        RateLimiter limiter = registry.rateLimiter(name, RateLimiterConfig.custom()
+                .limitForPeriod(limit)
+                .limitRefreshPeriod(REFRESH_PERIOD)
+                .timeoutDuration(maxQueueWait)
+                .build());
+        return new EndpointState(limiter, limit);
+    }
+
+    private static final class EndpointState {
+        private final RateLimiter limiter;
+        private final int configuredLimit;
+        private volatile int currentLimit;
+        private volatile Instant pausedUntil;
+        private volatile Instant lastUsed = Instant.now();
+        private volatile long lastIncreaseNanos = System.nanoTime();
+
+        private EndpointState(RateLimiter limiter, int configuredLimit) {
+            this.limiter = limiter;
+            this.configuredLimit = configuredLimit;
+            this.currentLimit = configuredLimit;
+        }
+    }
+}
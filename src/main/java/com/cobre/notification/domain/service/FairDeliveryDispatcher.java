@@ -0,0 +1,197 @@
+package com.cobre.notification.domain.service;
+
+import com.cobre.notification.domain.port.in.DispatchDeliveryUseCase;
+import com.cobre.notification.domain.port.out.NotificationRepository;
+import com.cobre.notification.domain.port.out.RetryScheduler;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Sits in front of delivery so one client's burst cannot starve the others: notifications are
+ * queued per client and released to the delivery executor by weighted round-robin. Clients over
+ * their queue cap have the overflow deferred to the retry schedule instead of queued in memory.
+ */
+@Service
+public class FairDeliveryDispatcher implements DispatchDeliveryUseCase {
+
+    private static final Logger logger = LoggerFactory.getLogger(FairDeliveryDispatcher.class);
+
+    private final WebhookDeliveryService deliveryService;
+    private final NotificationRepository notificationRepository;
+    private final RetryScheduler retryScheduler;
+    private final Executor executor;
+    private final Semaphore inFlight;
+    private final Duration overflowDelay;
+    private final WeightedFairQueue<Pending> queue;
+
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Condition notEmpty = lock.newCondition();
+    private Thread worker;
+
+    public FairDeliveryDispatcher(WebhookDeliveryService deliveryService,
+                                  NotificationRepository notificationRepository,
+                                  RetryScheduler retryScheduler,
+                                  @Qualifier("taskExecutor") Executor executor,
+                                  MeterRegistry meterRegistry,
+                                  @Value("${webhook.dispatcher.max-in-flight:500}") int maxInFlight,
+                                  @Value("${webhook.dispatcher.max-queued-per-tenant:10000}") int maxQueuedPerTenant,
+                                  @Value("${webhook.dispatcher.overflow-delay:30s}") Duration overflowDelay,
+                                  @Value("${webhook.dispatcher.weights:}") List<String> weights) {
+        this.deliveryService = deliveryService;
+        this.notificationRepository = notificationRepository;
+        this.retryScheduler = retryScheduler;
+        this.executor = executor;
+        this.inFlight = new Semaphore(maxInFlight);
+        this.overflowDelay = overflowDelay;
+
+        Map<String, Integer> tenantWeights = parseWeights(weights);
+        this.queue = new WeightedFairQueue<>(clientId -> tenantWeights.getOrDefault(clientId, 1), maxQueuedPerTenant);
+
+        Gauge.builder("webhook.dispatcher.queued", this, FairDeliveryDispatcher::queued)
+                .description("Notifications waiting in per-client dispatch queues")
+                .register(meterRegistry);
+        Gauge.builder("webhook.dispatcher.tenants", this, FairDeliveryDispatcher::activeTenants)
+                .description("Clients with notifications waiting to be dispatched")
+                .register(meterRegistry);
+    }
+
+    @PostConstruct
+    public void start() {
+        worker = new Thread(this::run, "delivery-dispatcher");
+        worker.setDaemon(true);
+        worker.start();
+    }
+
+    @PreDestroy
+    public void stop() {
+        worker.interrupt();
+    }
+
+    @Override
+    public CompletableFuture<Void> dispatch(String clientId, UUID notificationId) {
+        CompletableFuture<Void> completion = new CompletableFuture<>();
+
+        lock.lock();
+        try {
+            if (queue.offer(clientId, new Pending(notificationId, completion))) {
+                notEmpty.signal();
+                return completion;
+            }
+        } finally {
+            lock.unlock();
+        }
+
+        deferOverflow(clientId, notificationId);
+        completion.complete(null);
+        return completion;
+    }
+
+    private void run() {
+        while (!Thread.currentThread().isInterrupted()) {
+            try {
+                inFlight.acquire();
+                Pending next = takeNext();
+                try {
+                    executor.execute(() -> start(next));
+                } catch (RejectedExecutionException e) {
+                    start(next);
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+
+    private Pending takeNext() throws InterruptedException {
+        lock.lockInterruptibly();
+        try {
+            while (queue.isEmpty()) {
+                notEmpty.await();
+            }
+            return queue.poll();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void start(Pending pending) {
+        CompletableFuture<Void> delivery;
+        try {
+            delivery = deliveryService.deliverNotification(pending.notificationId());
+        } catch (Exception e) {
+            delivery = CompletableFuture.failedFuture(e);
+        }
+
+        delivery.whenComplete((result, error) -> {
+            inFlight.release();
+            if (error != null) {
+                logger.error("Delivery of notification {} failed", pending.notificationId(), error);
+                pending.completion().completeExceptionally(error);
+            } else {
+                pending.completion().complete(null);
+            }
+        });
+    }
+
+    private void deferOverflow(String clientId, UUID notificationId) {
+        Instant nextAttemptAt = Instant.now().plus(overflowDelay);
+        notificationRepository.defer(notificationId, nextAttemptAt);
+        retryScheduler.schedule(notificationId, nextAttemptAt);
+        logger.warn("Dispatch queue full for client {}, deferred notification {}", clientId, notificationId);
+    }
+
+    private int queued() {
+        lock.lock();
+        try {
+            return queue.size();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private int activeTenants() {
+        lock.lock();
+        try {
+            return queue.tenantCount();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    // Entries look like "client-a:5"; clients without an entry get weight 1
+    private static Map<String, Integer> parseWeights(List<String> weights) {
+        Map<String, Integer> parsed = new HashMap<>();
+        for (String entry : weights) {
+            int separator = entry.lastIndexOf(':');
+            if (separator <= 0) {
+                continue;
+            }
+            parsed.put(entry.substring(0, separator).trim(),
+                    Integer.parseInt(entry.substring(separator + 1).trim()));
+        }
+        return parsed;
+    }
+
+    private record Pending(UUID notificationId, CompletableFuture<Void> completion) {
+    }
+}
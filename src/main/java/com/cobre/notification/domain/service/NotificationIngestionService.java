@@ -0,0 +1,87 @@
+package com.cobre.notification.domain.service;
+
+import com.cobre.notification.application.messaging.dto.NotificationEventMessage;
+import com.cobre.notification.domain.model.EventPayload;
+import com.cobre.notification.domain.model.NotificationEvent;
+import com.cobre.notification.domain.model.PendingDelivery;
+import com.cobre.notification.domain.model.SubscriptionIndex;
+import com.cobre.notification.domain.model.WebhookSubscription;
+import com.cobre.notification.domain.port.in.IngestNotificationUseCase;
+import com.cobre.notification.domain.port.out.NotificationRepository;
+import com.cobre.notification.domain.port.out.SubscriptionRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+@Service
+public class NotificationIngestionService implements IngestNotificationUseCase {
+
+    private static final Logger logger = LoggerFactory.getLogger(NotificationIngestionService.class);
+    private final SubscriptionRepository subscriptionRepository;
+    private final NotificationRepository notificationRepository;
+    private final OutboxDispatcher outboxDispatcher;
+
+    public NotificationIngestionService(SubscriptionRepository subscriptionRepository,
+                                        NotificationRepository notificationRepository,
+                                        OutboxDispatcher outboxDispatcher) {
+        this.subscriptionRepository = subscriptionRepository;
+        this.notificationRepository = notificationRepository;
+        this.outboxDispatcher = outboxDispatcher;
+    }
+
+    @Override
+    @Transactional
+    public int ingest(List<NotificationEventMessage> messages) {
+        // Resolve each client's subscription index once per batch
+        Map<String, SubscriptionIndex> indexes = new HashMap<>();
+        List<NotificationEvent> events = new ArrayList<>(messages.size());
+
+        for (NotificationEventMessage message : messages) {
+            String clientId = message.getClientId();
+            String eventType = message.getEventType();
+
+            List<WebhookSubscription> matches = indexes
+                    .computeIfAbsent(clientId, subscriptionRepository::findIndexByClientId)
+                    .match(eventType);
+
+            if (matches.isEmpty()) {
+                logger.warn("No active subscription for client {} and event type {}", clientId, eventType);
+                continue;
+            }
+
+            // Shared by every fan-out copy; the bytes are never modified
+            EventPayload payload = EventPayload.of(message.getEventData());
+
+            // One delivery per matching endpoint
+            for (WebhookSubscription subscription : matches) {
+                events.add(new NotificationEvent(
+                        UUID.randomUUID(),
+                        clientId,
+                        eventType,
+                        payload,
+                        subscription.getWebhookUrl(),
+                        subscription.getId()
+                ));
+            }
+        }
+
+        if (events.isEmpty()) {
+            return 0;
+        }
+
+        notificationRepository.insertBatch(events);
+        // Dispatched once this transaction commits
+        outboxDispatcher.enqueue(events.stream()
+                .map(event -> new PendingDelivery(event.getId(), event.getClientId()))
+                .toList());
+
+        return events.size();
+    }
+}
@@ -2,33 +2,50 @@ package com.cobre.notification.domain.service;
 
 import com.cobre.notification.application.rest.dto.NotificationEventFilter;
 import com.cobre.notification.application.rest.dto.NotificationEventResponse;
+import com.cobre.notification.application.rest.dto.NotificationEventSliceResponse;
 import com.cobre.notification.domain.model.DeliveryStatus;
+import com.cobre.notification.domain.model.EventCursor;
 import com.cobre.notification.domain.model.NotificationEvent;
+import com.cobre.notification.domain.model.PendingDelivery;
 import com.cobre.notification.domain.port.in.QueryNotificationUseCase;
 import com.cobre.notification.domain.port.in.ReplayNotificationUseCase;
 import com.cobre.notification.domain.port.out.NotificationRepository;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
 import java.time.Instant;
+import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
+import java.util.function.Consumer;
 
 @Service
 public class NotificationService implements QueryNotificationUseCase, ReplayNotificationUseCase {
 
     private static final Logger logger = LoggerFactory.getLogger(NotificationService.class);
+    private static final int MAX_SCROLL_LIMIT = 1000;
     private final NotificationRepository notificationRepository;
-    private final WebhookDeliveryService webhookDeliveryService;
+    private final OutboxDispatcher outboxDispatcher;
+    private final TransactionTemplate readOnlyTransaction;
+    private final int exportPageSize;
 
     public NotificationService(NotificationRepository notificationRepository,
-                               WebhookDeliveryService webhookDeliveryService) {
+                               OutboxDispatcher outboxDispatcher,
+                               PlatformTransactionManager transactionManager,
+                               @Value("${webhook.export.page-size:500}") int exportPageSize) {
         this.notificationRepository = notificationRepository;
-        this.webhookDeliveryService = webhookDeliveryService;
+        this.outboxDispatcher = outboxDispatcher;
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+        this.exportPageSize = exportPageSize;
     }
 
     @Override
@@ -46,12 +63,69 @@ public class NotificationService implements QueryNotificationUseCase, ReplayNoti
                 dateFrom,
                 dateTo,
                 filter.getDeliveryStatus(),
-                pageable
+                pageable,
+                filter.isIncludePayload()
         );
 
         return events.map(this::toResponse);
     }
 
+    @Override
+    @Transactional(readOnly = true)
+    public NotificationEventSliceResponse scrollEvents(NotificationEventFilter filter, String cursor, int limit) {
+        logger.info("Scrolling events for client: {}", filter.getClientId());
+
+        Instant dateFrom = filter.getEventDateFrom() != null ?
+                Instant.parse(filter.getEventDateFrom()) : null;
+        Instant dateTo = filter.getEventDateTo() != null ?
+                Instant.parse(filter.getEventDateTo()) : null;
+        EventCursor after = cursor != null ? EventCursor.decode(cursor) : null;
+
+        Slice<NotificationEvent> events = notificationRepository.findByClientIdAfter(
+                filter.getClientId(),
+                dateFrom,
+                dateTo,
+                filter.getDeliveryStatus(),
+                after,
+                Math.max(1, Math.min(limit, MAX_SCROLL_LIMIT)),
+                filter.isIncludePayload()
+        );
+
+        String next = events.hasNext() && events.hasContent() ?
+                EventCursor.of(events.getContent().get(events.getNumberOfElements() - 1)).encode() : null;
+        return new NotificationEventSliceResponse(events.map(this::toResponse).getContent(), next);
+    }
+
+    @Override
+    public void exportEvents(NotificationEventFilter filter, Consumer<NotificationEventResponse> consumer) {
+        logger.info("Exporting events for client: {}", filter.getClientId());
+
+        Instant dateFrom = filter.getEventDateFrom() != null ?
+                Instant.parse(filter.getEventDateFrom()) : null;
+        Instant dateTo = filter.getEventDateTo() != null ?
+                Instant.parse(filter.getEventDateTo()) : null;
+
+        // Each page is its own short read, so a slow client never holds a pooled connection
+        EventCursor after = null;
+        Slice<NotificationEvent> page;
+        do {
+            EventCursor cursor = after;
+            page = readOnlyTransaction.execute(status -> notificationRepository.findByClientIdAfter(
+                    filter.getClientId(),
+                    dateFrom,
+                    dateTo,
+                    filter.getDeliveryStatus(),
+                    cursor,
+                    exportPageSize,
+                    filter.isIncludePayload()
+            ));
+            page.forEach(event -> consumer.accept(toResponse(event)));
+            if (page.hasContent()) {
+                after = EventCursor.of(page.getContent().get(page.getNumberOfElements() - 1));
+            }
+        } while (page.hasNext());
+    }
+
     @Override
     @Transactional(readOnly = true)
     public Optional<NotificationEventResponse> getEventById(UUID eventId, String clientId) {
@@ -81,10 +155,24 @@ public class NotificationService implements QueryNotificationUseCase, ReplayNoti
         }
 
         event.resetForReplay();
-        notificationRepository.save(event);
+        boolean reset = notificationRepository.recordAttempt(
+                event.getId(),
+                event.getVersion(),
+                event.getDeliveryStatus(),
+                event.getDeliveryAttempts(),
+                event.getLastAttemptAt(),
+                event.getNextAttemptAt(),
+                event.getDeliveredAt(),
+                event.getResponseCode(),
+                event.getErrorMessage()
+        );
+        if (!reset) {
+            logger.warn("Event {} changed while replaying, not replayed", eventId);
+            return Optional.empty();
+        }
 
-        // Trigger async delivery
-        webhookDeliveryService.deliverNotification(eventId);
+        // Delivered after commit, outside this transaction
+        outboxDispatcher.enqueue(List.of(new PendingDelivery(event.getId(), event.getClientId())));
 
         return Optional.of(toResponse(event));
     }
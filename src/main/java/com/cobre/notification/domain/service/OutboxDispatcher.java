@@ -0,0 +1,220 @@
+package com.cobre.notification.domain.service;
+
+import com.cobre.notification.domain.model.OutboxEntry;
+import com.cobre.notification.domain.model.PendingDelivery;
+import com.cobre.notification.domain.port.in.DispatchDeliveryUseCase;
+import com.cobre.notification.domain.port.out.DeliveryOutbox;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Moves committed deliveries from the outbox to the dispatcher. Callers enqueue inside their
+ * own short transaction; entries are claimed in batches only after that commits, and removed
+ * once their delivery has finished, so no transaction is ever open across a webhook call.
+ * Claims are capped by the number of entries still in flight, and the leases of entries still in
+ * flight are renewed, so a slow delivery is not claimed a second time by another node.
+ */
+@Service
+public class OutboxDispatcher {
+
+    private static final Logger logger = LoggerFactory.getLogger(OutboxDispatcher.class);
+    private static final Duration SHUTDOWN_TIMEOUT = Duration.ofSeconds(10);
+
+    private final DeliveryOutbox outbox;
+    private final DispatchDeliveryUseCase dispatchUseCase;
+    private final String nodeId;
+    private final int batchSize;
+    private final int maxInFlight;
+    private final Duration pollInterval;
+    private final Duration leaseDuration;
+
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private final Set<Long> inFlightIds = ConcurrentHashMap.newKeySet();
+    private final Queue<Long> completed = new ConcurrentLinkedQueue<>();
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Condition workAvailable = lock.newCondition();
+    private boolean signalled;
+    private Thread worker;
+    private Instant nextRenewal;
+
+    public OutboxDispatcher(DeliveryOutbox outbox,
+                            DispatchDeliveryUseCase dispatchUseCase,
+                            MeterRegistry meterRegistry,
+                            @Value("${webhook.retry.node-id}") String nodeId,
+                            @Value("${webhook.outbox.batch-size:500}") int batchSize,
+                            @Value("${webhook.outbox.max-in-flight:5000}") int maxInFlight,
+                            @Value("${webhook.outbox.poll-interval:1s}") Duration pollInterval,
+                            @Value("${webhook.outbox.lease-duration:5m}") Duration leaseDuration) {
+        this.outbox = outbox;
+        this.dispatchUseCase = dispatchUseCase;
+        this.nodeId = nodeId;
+        this.batchSize = batchSize;
+        this.maxInFlight = maxInFlight;
+        this.pollInterval = pollInterval;
+        this.leaseDuration = leaseDuration;
+        this.nextRenewal = Instant.now().plus(leaseDuration.dividedBy(2));
+
+        Gauge.builder("webhook.outbox.in_flight", inFlight, AtomicInteger::get)
+                .description("Outbox entries claimed by this node and not yet delivered")
+                .register(meterRegistry);
+    }
+
+    @PostConstruct
+    public void start() {
+        worker = new Thread(this::run, "outbox-dispatcher");
+        worker.setDaemon(true);
+        worker.start();
+    }
+
+    @PreDestroy
+    public void stop() {
+        if (worker == null) {
+            return;
+        }
+        worker.interrupt();
+        try {
+            worker.join(SHUTDOWN_TIMEOUT.toMillis());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        // Delete what finished since the last pass, or those entries would be dispatched again
+        try {
+            removeCompleted();
+        } catch (RuntimeException e) {
+            logger.warn("Could not remove {} delivered outbox entries on shutdown", completed.size(), e);
+        }
+    }
+
+    /**
+     * Adds the deliveries to the outbox in the caller's transaction and polls as soon as it commits.
+     */
+    public void enqueue(List<PendingDelivery> deliveries) {
+        if (deliveries.isEmpty()) {
+            return;
+        }
+        outbox.enqueue(deliveries);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    wakeUp();
+                }
+            });
+        } else {
+            wakeUp();
+        }
+    }
+
+    private void wakeUp() {
+        lock.lock();
+        try {
+            signalled = true;
+            workAvailable.signal();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void run() {
+        while (!Thread.currentThread().isInterrupted()) {
+            try {
+                removeCompleted();
+                renewLeases();
+                int capacity = Math.min(batchSize, maxInFlight - inFlight.get());
+                List<OutboxEntry> claimed = capacity > 0 ? outbox.claim(nodeId, capacity, leaseDuration) : List.of();
+                for (OutboxEntry entry : claimed) {
+                    dispatch(entry);
+                }
+                if (claimed.size() < capacity || capacity <= 0) {
+                    awaitWork();
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            } catch (RuntimeException e) {
+                logger.error("Outbox dispatch failed, retrying in {}", pollInterval, e);
+                try {
+                    awaitWork();
+                } catch (InterruptedException ie) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+        }
+    }
+
+    private void dispatch(OutboxEntry entry) {
+        inFlight.incrementAndGet();
+        inFlightIds.add(entry.id());
+        dispatchUseCase.dispatch(entry.clientId(), entry.notificationId())
+                .whenComplete((ignored, error) -> {
+                    inFlightIds.remove(entry.id());
+                    completed.add(entry.id());
+                    // Poll again once there is room for a full batch
+                    if (inFlight.decrementAndGet() == maxInFlight - batchSize) {
+                        wakeUp();
+                    }
+                });
+    }
+
+    private void removeCompleted() {
+        List<Long> ids = new ArrayList<>();
+        Long id;
+        while ((id = completed.poll()) != null) {
+            ids.add(id);
+        }
+        if (!ids.isEmpty()) {
+            try {
+                outbox.remove(ids);
+            } catch (RuntimeException e) {
+                // Put them back; worst case their leases expire and they are dispatched again
+                completed.addAll(ids);
+                throw e;
+            }
+        }
+    }
+
+    // Renews at half the lease, so a lease never runs out while its delivery is in flight
+    private void renewLeases() {
+        Instant now = Instant.now();
+        if (now.isBefore(nextRenewal)) {
+            return;
+        }
+        List<Long> ids = new ArrayList<>(inFlightIds);
+        if (!ids.isEmpty()) {
+            outbox.extendLeases(nodeId, ids, leaseDuration);
+        }
+        nextRenewal = now.plus(leaseDuration.dividedBy(2));
+    }
+
+    private void awaitWork() throws InterruptedException {
+        lock.lockInterruptibly();
+        try {
+            if (!signalled) {
+                workAvailable.await(pollInterval.toMillis(), TimeUnit.MILLISECONDS);
+            }
+            signalled = false;
+        } finally {
+            lock.unlock();
+        }
+    }
+}
@@ -1,93 +1,351 @@
 package com.cobre.notification.domain.service;
 
+import com.cobre.notification.domain.model.DeliveryStatus;
 import com.cobre.notification.domain.model.NotificationEvent;
+import com.cobre.notification.domain.model.WebhookSubscription;
 import com.cobre.notification.domain.port.in.DeliverNotificationUseCase;
-import com.cobre.notification.domain.port.out.NotificationRepository;
+import com.cobre.notification.domain.port.out.RetryScheduler;
+import com.cobre.notification.domain.port.out.SubscriptionRepository;
 import com.cobre.notification.domain.port.out.WebhookClient;
-import io.github.resilience4j.circuitbreaker.annotation.CircuitBreaker;
+import io.github.resilience4j.circuitbreaker.CircuitBreaker;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.slf4j.MDC;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.scheduling.annotation.Async;
 import org.springframework.stereotype.Service;
-import org.springframework.transaction.annotation.Transactional;
 
-import javax.crypto.Mac;
-import javax.crypto.spec.SecretKeySpec;
-import java.nio.charset.StandardCharsets;
-import java.util.Base64;
+import java.time.Duration;
+import java.time.Instant;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
 
 @Service
 public class WebhookDeliveryService implements DeliverNotificationUseCase {
 
     private static final Logger logger = LoggerFactory.getLogger(WebhookDeliveryService.class);
     private final WebhookClient webhookClient;
-    private final NotificationRepository notificationRepository;
+    private final RetryScheduler retryScheduler;
+    private final DeliveryConcurrencyLimiter concurrencyLimiter;
+    private final EndpointCircuitBreakers circuitBreakers;
+    private final SubscriptionRepository subscriptionRepository;
+    private final EndpointRateLimiters rateLimiters;
+    private final WebhookSigner signer;
+    private final DeliveryStatusWriter statusWriter;
+    private final DeliveryLoader loader;
+    private final DeliveryBatcher batcher;
+    private final Executor sendExecutor;
+    private final Duration sendRejectedDelay;
+    private final String nodeId;
 
     public WebhookDeliveryService(WebhookClient webhookClient,
-                                  NotificationRepository notificationRepository) {
+                                  RetryScheduler retryScheduler,
+                                  DeliveryConcurrencyLimiter concurrencyLimiter,
+                                  EndpointCircuitBreakers circuitBreakers,
+                                  SubscriptionRepository subscriptionRepository,
+                                  EndpointRateLimiters rateLimiters,
+                                  WebhookSigner signer,
+                                  DeliveryStatusWriter statusWriter,
+                                  DeliveryLoader loader,
+                                  DeliveryBatcher batcher,
+                                  @Qualifier("deliverySendExecutor") Executor sendExecutor,
+                                  @Value("${webhook.delivery.send-executor.rejected-delay:5s}") Duration sendRejectedDelay,
+                                  @Value("${webhook.retry.node-id}") String nodeId) {
         this.webhookClient = webhookClient;
-        this.notificationRepository = notificationRepository;
+        this.retryScheduler = retryScheduler;
+        this.concurrencyLimiter = concurrencyLimiter;
+        this.circuitBreakers = circuitBreakers;
+        this.subscriptionRepository = subscriptionRepository;
+        this.rateLimiters = rateLimiters;
+        this.signer = signer;
+        this.statusWriter = statusWriter;
+        this.loader = loader;
+        this.batcher = batcher;
+        this.sendExecutor = sendExecutor;
+        this.sendRejectedDelay = sendRejectedDelay;
+        this.nodeId = nodeId;
     }
 
+    // Not transactional: every write is its own short statement, never held across the HTTP call
     @Override
     @Async
-    @Transactional
-    @CircuitBreaker(name = "webhookDelivery", fallbackMethod = "deliveryFallback")
     public void deliver(UUID notificationId) {
         deliverNotification(notificationId);
     }
 
-    public void deliverNotification(UUID notificationId) {
-        MDC.put("notificationId", notificationId.toString());
+    /**
+     * Runs the delivery pipeline: the event is read by the batching {@link DeliveryLoader}, signed
+     * and sent on the send executor, and its outcome written by the batching
+     * {@link DeliveryStatusWriter}. The returned future completes once the outcome is stored.
+     */
+    public CompletableFuture<Void> deliverNotification(UUID notificationId) {
+        return loader.load(notificationId)
+                .thenCompose(event -> event
+                        .map(this::sendAsync)
+                        .orElseGet(() -> CompletableFuture.failedFuture(
+                                new IllegalArgumentException("Notification not found: " + notificationId))));
+    }
 
-        NotificationEvent event = notificationRepository.findById(notificationId)
-                .orElseThrow(() -> new IllegalArgumentException("Notification not found: " + notificationId));
+    // Loads complete on the loader's thread, which must never run a send itself
+    private CompletableFuture<Void> sendAsync(NotificationEvent event) {
+        try {
+            return CompletableFuture.supplyAsync(() -> send(event), sendExecutor)
+                    .thenCompose(sent -> sent);
+        } catch (RejectedExecutionException e) {
+            // Saturated: hand it back to the retry schedule without spending an attempt
+            putContext(List.of(event));
+            CompletableFuture<Void> parked = isDue(event) ?
+                    parkAll(List.of(event), sendRejectedDelay, "send executor is saturated") :
+                    CompletableFuture.completedFuture(null);
+            MDC.clear();
+            return parked;
+        }
+    }
 
+    private CompletableFuture<Void> send(NotificationEvent event) {
+        MDC.put("notificationId", event.getId().toString());
         MDC.put("clientId", event.getClientId());
         MDC.put("eventType", event.getEventType());
 
-        logger.info("Attempting delivery (attempt: {})", event.getDeliveryAttempts() + 1);
+        if (!isDue(event)) {
+            MDC.clear();
+            return CompletableFuture.completedFuture(null);
+        }
+
+        if (event.getPayloadBytes() == null) {
+            // Neither inline nor stored: fail it through the usual retries rather than send an empty body
+            handleDeliveryFailure(event, "Event payload is missing", null);
+            MDC.clear();
+            return writeOutcome(event);
+        }
+
+        WebhookSubscription subscription = resolveSubscription(event);
+        if (subscription == null) {
+            // Without a subscription there is no secret to sign with; retry in case it is re-created
+            handleDeliveryFailure(event, "No active subscription", null);
+            MDC.clear();
+            return writeOutcome(event);
+        }
+
+        if (subscription.isBatched()) {
+            MDC.clear();
+            return batcher.add(subscription, event, this::post);
+        }
+        return post(subscription, List.of(event));
+    }
+
+    /**
+     * Sends the events in one request: a single event as its own payload, several as the JSON array
+     * built by {@link DeliveryBatcher#encode}. They share the request's outcome, so all of them are
+     * delivered, failed or parked together.
+     */
+    private CompletableFuture<Void> post(WebhookSubscription subscription, List<NotificationEvent> events) {
+        NotificationEvent first = events.get(0);
+        String webhookUrl = first.getWebhookUrl();
+        putContext(events);
+
+        long rateLimitWaitNanos = rateLimiters.reservePermission(
+                webhookUrl, subscription.getRateLimitPerSecond());
+        if (rateLimitWaitNanos < 0) {
+            Instant throttledUntil = rateLimiters.throttledUntil(webhookUrl);
+            CompletableFuture<Void> parked = parkAll(events, Duration.between(Instant.now(), throttledUntil),
+                    "endpoint rate limit reached");
+            MDC.clear();
+            return parked;
+        }
+
+        CircuitBreaker breaker = circuitBreakers.forUrl(webhookUrl);
+        if (!breaker.tryAcquirePermission()) {
+            CompletableFuture<Void> parked = parkAll(events, circuitBreakers.getParkDuration(),
+                    "circuit breaker " + breaker.getName() + " is open");
+            MDC.clear();
+            return parked;
+        }
 
         try {
-            String signature = generateHmacSignature(event.getEventData(), "secret_key_placeholder");
+            // Cheap to block here when deliveries run on virtual threads
+            concurrencyLimiter.acquire(first.getClientId());
+        } catch (InterruptedException e) {
+            breaker.releasePermission();
+            // Parked before the flag is restored, in case the write falls back to this thread
+            CompletableFuture<Void> parked = parkAll(events, Duration.ZERO,
+                    "interrupted while waiting for a delivery slot");
+            Thread.currentThread().interrupt();
+            MDC.clear();
+            return parked;
+        }
+
+        if (events.size() == 1) {
+            logger.info("Attempting delivery (attempt: {})", first.getDeliveryAttempts() + 1);
+        } else {
+            logger.info("Attempting delivery of {} events in one request", events.size());
+        }
+
+        long startNanos = System.nanoTime();
+        CompletableFuture<WebhookClient.WebhookResponse> response;
+        try {
+            byte[] payload = events.size() == 1 ? first.getPayloadBytes() : DeliveryBatcher.encode(events);
+            String signature = signer.sign(subscription, payload);
 
             Map<String, String> headers = new HashMap<>();
             headers.put("Content-Type", "application/json");
             headers.put("X-Webhook-Signature", signature);
-            headers.put("X-Event-Type", event.getEventType());
-            headers.put("X-Event-Id", event.getId().toString());
-            headers.put("X-Idempotency-Key", event.getId().toString());
+            if (events.size() == 1) {
+                headers.put("X-Event-Type", first.getEventType());
+                headers.put("X-Event-Id", first.getId().toString());
+                headers.put("X-Idempotency-Key", first.getId().toString());
+            } else {
+                // Receivers deduplicate on each element's id; batches are regrouped on retry
+                headers.put("X-Batch-Id", UUID.randomUUID().toString());
+                headers.put("X-Batch-Size", String.valueOf(events.size()));
+            }
             headers.put("X-Timestamp", String.valueOf(System.currentTimeMillis()));
 
-            WebhookClient.WebhookResponse response = webhookClient.post(
-                    event.getWebhookUrl(),
-                    event.getEventData(),
-                    headers
-            );
+            if (rateLimitWaitNanos > 0) {
+                // Wait for the reserved token without holding a thread
+                response = CompletableFuture.runAsync(() -> { },
+                                CompletableFuture.delayedExecutor(rateLimitWaitNanos, TimeUnit.NANOSECONDS))
+                        .thenCompose(ignored -> webhookClient.postAsync(webhookUrl, payload, headers));
+            } else {
+                response = webhookClient.postAsync(
+                        webhookUrl,
+                        payload,
+                        headers
+                );
+            }
+        } catch (Exception e) {
+            response = CompletableFuture.failedFuture(e);
+        } finally {
+            MDC.clear();
+        }
+
+        // Completes on the HTTP client's thread when the client is non-blocking
+        return response
+                .handle((result, error) -> {
+                    recordBreakerOutcome(breaker, System.nanoTime() - startNanos, result, error);
+                    return recordOutcome(events, result, error);
+                })
+                .thenCompose(written -> written)
+                .whenComplete((ignored, error) -> concurrencyLimiter.release(first.getClientId()));
+    }
+
+    private boolean isDue(NotificationEvent event) {
+        if (event.getDeliveryStatus() == DeliveryStatus.DELIVERED ||
+                event.getDeliveryStatus() == DeliveryStatus.FAILED) {
+            logger.info("Skipping delivery, notification is already {}", event.getDeliveryStatus());
+            return false;
+        }
+        if (!event.isSendableBy(nodeId, Instant.now())) {
+            // Rescheduled or re-claimed by another node while it waited here; that schedule or node sends it
+            logger.info("Skipping delivery, retry is not due or is leased to {}", event.getLeaseOwner());
+            return false;
+        }
+        return true;
+    }
+
+    private WebhookSubscription resolveSubscription(NotificationEvent event) {
+        if (event.getSubscriptionId() != null) {
+            return subscriptionRepository.findById(event.getSubscriptionId())
+                    .filter(WebhookSubscription::isActive)
+                    .orElse(null);
+        }
+        // Events created before fan-out only carry the endpoint URL
+        return subscriptionRepository.findIndexByClientId(event.getClientId())
+                .match(event.getEventType())
+                .stream()
+                .filter(s -> s.getWebhookUrl().equals(event.getWebhookUrl()))
+                .findFirst()
+                .orElse(null);
+    }
+
+    private CompletableFuture<Void> recordOutcome(List<NotificationEvent> events,
+                                                  WebhookClient.WebhookResponse response, Throwable error) {
+        String webhookUrl = events.get(0).getWebhookUrl();
+        putContext(events);
 
-            if (response.isSuccess()) {
-                event.markAsDelivered(response.getStatusCode());
-                logger.info("Successfully delivered notification");
+        try {
+            if (error != null) {
+                logger.error("Delivery exception", error);
+                events.forEach(event -> handleDeliveryFailure(event, error.getMessage(), null));
+            } else if (response.getStatusCode() == 429) {
+                // The endpoint asked us to slow down; that is not a failed attempt
+                rateLimiters.onThrottled(webhookUrl, response.getRetryAfter());
+                Instant throttledUntil = rateLimiters.throttledUntil(webhookUrl);
+                return parkAll(events, Duration.between(Instant.now(), throttledUntil), "endpoint responded 429");
+            } else if (response.isSuccess()) {
+                rateLimiters.onAccepted(webhookUrl);
+                events.forEach(event -> event.markAsDelivered(response.getStatusCode()));
+                logger.info("Successfully delivered {}", events.size() == 1 ?
+                        "notification" : events.size() + " notifications");
             } else {
-                handleDeliveryFailure(event, response.getErrorMessage(), response.getStatusCode());
+                events.forEach(event -> handleDeliveryFailure(
+                        event, response.getErrorMessage(), response.getStatusCode()));
             }
 
-        } catch (Exception e) {
-            logger.error("Delivery exception", e);
-            handleDeliveryFailure(event, e.getMessage(), null);
+            return CompletableFuture.allOf(events.stream()
+                    .map(this::writeOutcome)
+                    .toArray(CompletableFuture[]::new));
+        } finally {
+            MDC.clear();
         }
+    }
 
-        notificationRepository.save(event);
+    private static void putContext(List<NotificationEvent> events) {
+        NotificationEvent first = events.get(0);
+        MDC.put("clientId", first.getClientId());
+        if (events.size() == 1) {
+            MDC.put("notificationId", first.getId().toString());
+            MDC.put("eventType", first.getEventType());
+        } else {
+            MDC.put("batchSize", String.valueOf(events.size()));
+        }
+    }
 
-        if (event.canRetry()) {
-            scheduleRetry(event);
+    // Completes once the outcome is persisted, so the retry is never claimed against a stale row
+    private CompletableFuture<Void> writeOutcome(NotificationEvent event) {
+        return statusWriter.submit(event).thenAccept(written -> {
+            if (!written) {
+                // Replayed or re-delivered elsewhere since we loaded it; that write wins
+                logger.warn("Notification {} changed during delivery, outcome discarded", event.getId());
+            } else if (event.canRetry()) {
+                scheduleRetry(event);
+            }
+        });
+    }
+
+    private void recordBreakerOutcome(CircuitBreaker breaker, long durationNanos,
+                                      WebhookClient.WebhookResponse response, Throwable error) {
+        // Only unreachable or failing endpoints count against the breaker; 4xx means it is up
+        if (error != null) {
+            breaker.onError(durationNanos, TimeUnit.NANOSECONDS, error);
+        } else if (response.getStatusCode() == 0 || response.getStatusCode() >= 500) {
+            breaker.onError(durationNanos, TimeUnit.NANOSECONDS,
+                    new IllegalStateException(response.getErrorMessage()));
+        } else {
+            breaker.onSuccess(durationNanos, TimeUnit.NANOSECONDS);
         }
+    }
 
-        MDC.clear();
+    /**
+     * Postpones the events without spending an attempt. The write goes through the
+     * {@link DeliveryStatusWriter} like any outcome, so the HTTP client's threads never wait on JDBC.
+     */
+    private CompletableFuture<Void> parkAll(List<NotificationEvent> events, Duration delay, String reason) {
+        // A throttle window can end between reading it and parking; never park into the past
+        Duration wait = delay.isNegative() ? Duration.ZERO : delay;
+        Instant until = Instant.now().plus(wait);
+        events.forEach(event -> event.deferUntil(until));
+        logger.info("Parked delivery for {}s: {}", wait.toSeconds(), reason);
+        return CompletableFuture.allOf(events.stream()
+                .map(this::writeOutcome)
+                .toArray(CompletableFuture[]::new));
     }
 
     private void handleDeliveryFailure(NotificationEvent event, String errorMessage, Integer responseCode) {
@@ -97,27 +355,7 @@ public class WebhookDeliveryService implements DeliverNotificationUseCase {
     }
 
     private void scheduleRetry(NotificationEvent event) {
-        long delaySeconds = event.getNextRetryDelaySeconds();
-        logger.info("Scheduling retry in {} seconds", delaySeconds);
-        // Implementation would send to delayed queue or use scheduling mechanism
-    }
-
-    private String generateHmacSignature(String payload, String secretKey) {
-        try {
-            Mac mac = Mac.getInstance("HmacSHA256");
-            SecretKeySpec secretKeySpec = new SecretKeySpec(
-                    secretKey.getBytes(StandardCharsets.UTF_8),
-                    "HmacSHA256"
-            );
-            mac.init(secretKeySpec);
-            byte[] hash = mac.doFinal(payload.getBytes(StandardCharsets.UTF_8));
-            return Base64.getEncoder().encodeToString(hash);
-        } catch (Exception e) {
-            throw new RuntimeException("Failed to generate HMAC signature", e);
-        }
-    }
-
-    private void deliveryFallback(UUID notificationId, Exception e) {
-        logger.error("Circuit breaker opened for notification: {}", notificationId, e);
+        logger.info("Scheduling retry at {}", event.getNextAttemptAt());
+        retryScheduler.schedule(event.getId(), event.getNextAttemptAt());
     }
-}
\ No newline at end of file
+}
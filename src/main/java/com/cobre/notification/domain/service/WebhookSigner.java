@@ -0,0 +1,86 @@
+package com.cobre.notification.domain.service;
+
+import com.cobre.notification.domain.model.WebhookSubscription;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.time.Duration;
+import java.util.Base64;
+import java.util.Queue;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentLinkedQueue;
+
+/**
+ * HMAC-SHA256 signing with initialized {@link Mac} instances pooled per subscription secret.
+ * Pools rather than thread-locals, since deliveries may run on short-lived virtual threads. Keys are
+ * bounded in number and dropped once unused, so deleted subscriptions do not keep theirs.
+ */
+@Component
+public class WebhookSigner {
+
+    private static final String ALGORITHM = "HmacSHA256";
+
+    private final Cache<UUID, SigningKey> keys;
+
+    public WebhookSigner(@Value("${webhook.signer.max-keys:10000}") long maxKeys,
+                         @Value("${webhook.signer.idle-timeout:1h}") Duration idleTimeout) {
+        this.keys = Caffeine.newBuilder()
+                .maximumSize(maxKeys)
+                .expireAfterAccess(idleTimeout)
+                .build();
+    }
+
+    public String sign(WebhookSubscription subscription, byte[] payload) {
+        SigningKey key = keys.asMap().compute(subscription.getId(), (id, existing) ->
+                existing != null && existing.secret.equals(subscription.getSecretKey()) ?
+                        existing : new SigningKey(subscription.getSecretKey()));
+
+        Mac mac = key.borrow();
+        try {
+            // doFinal resets the Mac, so it can go straight back to the pool
+            return Base64.getEncoder().encodeToString(mac.doFinal(payload));
+        } finally {
+            key.pool.offer(mac);
+        }
+    }
+
+    long cachedKeys() {
+        keys.cleanUp();
+        return keys.estimatedSize();
+    }
+
+    private static final class SigningKey {
+        private final String secret;
+        private final Mac prototype;
+        private final Queue<Mac> pool = new ConcurrentLinkedQueue<>();
+
+        private SigningKey(String secret) {
+            this.secret = secret;
+            try {
+                this.prototype = Mac.getInstance(ALGORITHM);
+                this.prototype.init(new SecretKeySpec(secret.getBytes(StandardCharsets.UTF_8), ALGORITHM));
+            } catch (GeneralSecurityException e) {
+                throw new IllegalStateException("Failed to initialize HMAC signing key", e);
+            }
+        }
+
+        private Mac borrow() {
+            Mac mac = pool.poll();
+            if (mac != null) {
+                return mac;
+            }
+            try {
+                // Cloning skips the provider lookup and key schedule
+                return (Mac) prototype.clone();
+            } catch (CloneNotSupportedException e) {
+                throw new IllegalStateException("HMAC provider does not support cloning", e);
+            }
+        }
+    }
+}
@@ -0,0 +1,84 @@
+package com.cobre.notification.domain.service;
+
+import java.util.ArrayDeque;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.function.ToIntFunction;
+
+/**
+ * Per-tenant FIFO queues served by deficit round-robin: each time a tenant comes up it may
+ * take {@code weight} items before yielding to the next tenant. Not thread-safe.
+ */
+class WeightedFairQueue<T> {
+
+    private final ToIntFunction<String> weights;
+    private final int maxQueuedPerTenant;
+    private final Map<String, TenantQueue<T>> queues = new HashMap<>();
+    private final ArrayDeque<TenantQueue<T>> active = new ArrayDeque<>();
+    private int size;
+
+    WeightedFairQueue(ToIntFunction<String> weights, int maxQueuedPerTenant) {
+        this.weights = weights;
+        this.maxQueuedPerTenant = maxQueuedPerTenant;
+    }
+
+    boolean offer(String tenant, T item) {
+        TenantQueue<T> queue = queues.get(tenant);
+        if (queue == null) {
+            queue = new TenantQueue<>(tenant, Math.max(1, weights.applyAsInt(tenant)));
+            queues.put(tenant, queue);
+            active.addLast(queue);
+        } else if (queue.items.size() >= maxQueuedPerTenant) {
+            return false;
+        }
+        queue.items.addLast(item);
+        size++;
+        return true;
+    }
+
+    T poll() {
+        TenantQueue<T> queue = active.peekFirst();
+        if (queue == null) {
+            return null;
+        }
+        if (queue.deficit == 0) {
+            queue.deficit = queue.weight;
+        }
+
+        T item = queue.items.pollFirst();
+        queue.deficit--;
+        size--;
+
+        if (queue.items.isEmpty()) {
+            active.pollFirst();
+            queues.remove(queue.tenant);
+        } else if (queue.deficit == 0) {
+            active.addLast(active.pollFirst());
+        }
+        return item;
+    }
+
+    boolean isEmpty() {
+        return size == 0;
+    }
+
+    int size() {
+        return size;
+    }
+
+    int tenantCount() {
+        return queues.size();
+    }
+
+    private static final class TenantQueue<T> {
+        private final String tenant;
+        private final int weight;
+        private final ArrayDeque<T> items = new ArrayDeque<>();
+        private int deficit;
+
+        private TenantQueue(String tenant, int weight) {
+            this.tenant = tenant;
+            this.weight = weight;
+        }
+    }
+}
@@ -2,37 +2,65 @@ package com.cobre.notification.infrastructure.config;
 
 import io.micrometer.core.aop.TimedAspect;
 import io.micrometer.core.instrument.MeterRegistry;
-import org.springframework.boot.web.client.RestTemplateBuilder;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.core.task.SimpleAsyncTaskExecutor;
 import org.springframework.scheduling.annotation.EnableAsync;
 import org.springframework.scheduling.annotation.EnableScheduling;
 import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
-import org.springframework.web.client.RestTemplate;
 
-import java.time.Duration;
 import java.util.concurrent.Executor;
+import java.util.concurrent.ThreadPoolExecutor;
 
 @Configuration
 @EnableAsync
 @EnableScheduling
 public class ApplicationConfig {
 
-    @Bean
-    public RestTemplate restTemplate(RestTemplateBuilder builder) {
-        return builder
-                .setConnectTimeout(Duration.ofSeconds(10))
-                .setReadTimeout(Duration.ofSeconds(30))
-                .build();
-    }
-
     @Bean(name = "taskExecutor")
-    public Executor taskExecutor() {
+    public Executor taskExecutor(@Value("${webhook.delivery.executor.mode:platform}") String mode,
+                                 @Value("${webhook.delivery.executor.max-concurrency:10000}") int maxConcurrency) {
+        if ("virtual".equalsIgnoreCase(mode)) {
+            // One virtual thread per delivery; callers wait at the cap instead of having work rejected
+            SimpleAsyncTaskExecutor executor = new SimpleAsyncTaskExecutor("webhook-delivery-");
+            executor.setVirtualThreads(true);
+            executor.setConcurrencyLimit(maxConcurrency);
+            return executor;
+        }
+
         ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
         executor.setCorePoolSize(10);
         executor.setMaxPoolSize(50);
         executor.setQueueCapacity(500);
         executor.setThreadNamePrefix("webhook-delivery-");
+        // A full queue slows the submitter down rather than dropping the delivery
+        executor.setRejectedExecutionHandler(new ThreadPoolExecutor.CallerRunsPolicy());
+        executor.initialize();
+        return executor;
+    }
+
+    /**
+     * Runs the send stage of delivery, off the {@code DeliveryLoader} thread that completes loads.
+     * Bounded, and a full queue rejects the send rather than running it on the loader's thread;
+     * the delivery service then parks the event for a later retry.
+     */
+    @Bean(name = "deliverySendExecutor")
+    public Executor deliverySendExecutor(@Value("${webhook.delivery.executor.mode:platform}") String mode,
+                                         @Value("${webhook.delivery.executor.max-concurrency:10000}") int maxConcurrency,
+                                         @Value("${webhook.delivery.send-executor.threads:50}") int threads,
+                                         @Value("${webhook.delivery.send-executor.queue-capacity:1000}") int queueCapacity) {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setQueueCapacity(queueCapacity);
+        executor.setThreadNamePrefix("webhook-send-");
+        if ("virtual".equalsIgnoreCase(mode)) {
+            // Sends may block waiting for a per-client slot, which only costs a virtual thread
+            executor.setThreadFactory(Thread.ofVirtual().name("webhook-send-", 0).factory());
+            threads = maxConcurrency;
+        }
+        executor.setCorePoolSize(threads);
+        executor.setMaxPoolSize(threads);
+        executor.setRejectedExecutionHandler(new ThreadPoolExecutor.AbortPolicy());
         executor.initialize();
         return executor;
     }
@@ -0,0 +1,73 @@
+package com.cobre.notification.infrastructure.config;
+
+import com.cobre.notification.infrastructure.persistence.routing.ReadReplicaRoutingDataSource;
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Primary pool from {@code spring.datasource}, plus one read-only pool per replica URL in
+ * {@code webhook.datasource.replica-urls}. Replicas share the primary's credentials and pool
+ * settings. Without replicas the primary pool is used directly.
+ */
+@Configuration
+public class DataSourceConfig {
+
+    @Bean
+    @ConfigurationProperties("spring.datasource.hikari")
+    public HikariDataSource primaryDataSource(DataSourceProperties properties) {
+        HikariDataSource dataSource = properties.initializeDataSourceBuilder()
+                .type(HikariDataSource.class)
+                .build();
+        dataSource.setPoolName("primary");
+        return dataSource;
+    }
+
+    @Bean
+    public ReadReplicaRoutingDataSource readReplicaRoutingDataSource(
+            HikariDataSource primaryDataSource,
+            DataSourceProperties properties,
+            @Value("${webhook.datasource.replica-urls:}") List<String> replicaUrls,
+            @Value("${webhook.datasource.replica-max-lag:5s}") Duration maxLag,
+            MeterRegistry meterRegistry) {
+        List<DataSource> replicas = new ArrayList<>();
+        for (String url : replicaUrls) {
+            if (url.isBlank()) {
+                continue;
+            }
+            HikariDataSource replica = new HikariDataSource();
+            primaryDataSource.copyStateTo(replica);
+            replica.setPoolName("replica-" + replicas.size());
+            replica.setJdbcUrl(url.trim());
+            replica.setUsername(properties.determineUsername());
+            replica.setPassword(properties.determinePassword());
+            replica.setReadOnly(true);
+            replicas.add(replica);
+        }
+        return new ReadReplicaRoutingDataSource(primaryDataSource, replicas, maxLag, meterRegistry);
+    }
+
+    @Bean
+    @Primary
+    public DataSource dataSource(HikariDataSource primaryDataSource,
+                                 ReadReplicaRoutingDataSource readReplicaRoutingDataSource,
+                                 @Value("${webhook.datasource.replica-urls:}") List<String> replicaUrls) {
+        if (replicaUrls.stream().allMatch(String::isBlank)) {
+            return primaryDataSource;
+        }
+        // Defers the physical connection until the first statement, when the transaction's
+        // read-only flag is known
+        return new LazyConnectionDataSourceProxy(readReplicaRoutingDataSource);
+    }
+}
@@ -0,0 +1,100 @@
+package com.cobre.notification.infrastructure.config;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.httpcomponents.hc5.PoolingHttpClientConnectionManagerMetricsBinder;
+import org.apache.hc.client5.http.config.ConnectionConfig;
+import org.apache.hc.client5.http.config.RequestConfig;
+import org.apache.hc.client5.http.impl.DefaultConnectionKeepAliveStrategy;
+import org.apache.hc.client5.http.impl.classic.CloseableHttpClient;
+import org.apache.hc.client5.http.impl.classic.HttpClients;
+import org.apache.hc.client5.http.impl.io.PoolingHttpClientConnectionManager;
+import org.apache.hc.client5.http.impl.io.PoolingHttpClientConnectionManagerBuilder;
+import org.apache.hc.client5.http.ssl.SSLConnectionSocketFactoryBuilder;
+import org.apache.hc.core5.util.TimeValue;
+import org.apache.hc.core5.util.Timeout;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.web.client.RestTemplateBuilder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
+import org.springframework.web.client.RestTemplate;
+
+import javax.net.ssl.SSLContext;
+import java.security.GeneralSecurityException;
+import java.time.Duration;
+
+@Configuration
+public class HttpClientConfig {
+
+    @Bean
+    public PoolingHttpClientConnectionManager webhookConnectionManager(
+            @Value("${webhook.http.pool.max-total:2000}") int maxTotal,
+            @Value("${webhook.http.pool.max-per-host:50}") int maxPerHost,
+            @Value("${webhook.http.pool.time-to-live:5m}") Duration timeToLive,
+            @Value("${webhook.http.pool.tls-session-cache-size:1000}") int tlsSessionCacheSize,
+            @Value("${webhook.http.pool.tls-session-timeout:1h}") Duration tlsSessionTimeout,
+            @Value("${webhook.delivery.timeout:30s}") Duration readTimeout,
+            MeterRegistry meterRegistry) throws GeneralSecurityException {
+
+        // Reusing one context lets JSSE resume TLS sessions instead of doing full handshakes
+        SSLContext sslContext = SSLContext.getInstance("TLS");
+        sslContext.init(null, null, null);
+        sslContext.getClientSessionContext().setSessionCacheSize(tlsSessionCacheSize);
+        sslContext.getClientSessionContext().setSessionTimeout((int) tlsSessionTimeout.toSeconds());
+
+        PoolingHttpClientConnectionManager connectionManager = PoolingHttpClientConnectionManagerBuilder.create()
+                .setSSLSocketFactory(SSLConnectionSocketFactoryBuilder.create()
+                        .setSslContext(sslContext)
+                        .build())
+                .setMaxConnTotal(maxTotal)
+                .setMaxConnPerRoute(maxPerHost)
+                .setDefaultConnectionConfig(ConnectionConfig.custom()
+                        .setConnectTimeout(Timeout.ofSeconds(10))
+                        .setSocketTimeout(Timeout.of(readTimeout))
+                        .setTimeToLive(TimeValue.of(timeToLive))
+                        .setValidateAfterInactivity(TimeValue.ofSeconds(10))
+                        .build())
+                .build();
+
+        new PoolingHttpClientConnectionManagerMetricsBinder(connectionManager, "webhook")
+                .bindTo(meterRegistry);
+
+        return connectionManager;
+    }
+
+    @Bean
+    public CloseableHttpClient pooledHttpClient(
+            PoolingHttpClientConnectionManager webhookConnectionManager,
+            @Value("${webhook.http.pool.idle-timeout:30s}") Duration idleTimeout,
+            @Value("${webhook.http.pool.keep-alive:60s}") Duration maxKeepAlive,
+            @Value("${webhook.delivery.timeout:30s}") Duration readTimeout) {
+
+        long maxKeepAliveMillis = maxKeepAlive.toMillis();
+
+        return HttpClients.custom()
+                .setConnectionManager(webhookConnectionManager)
+                .evictExpiredConnections()
+                .evictIdleConnections(TimeValue.of(idleTimeout))
+                // Honour the server's Keep-Alive hint, but never hold a connection longer than our cap
+                .setKeepAliveStrategy((response, context) -> {
+                    TimeValue advertised = DefaultConnectionKeepAliveStrategy.INSTANCE
+                            .getKeepAliveDuration(response, context);
+                    return TimeValue.ofMilliseconds(Math.min(advertised.toMilliseconds(), maxKeepAliveMillis));
+                })
+                .setDefaultRequestConfig(RequestConfig.custom()
+                        .setConnectionRequestTimeout(Timeout.ofSeconds(5))
+                        .setResponseTimeout(Timeout.of(readTimeout))
+                        .build())
+                .disableCookieManagement()
+                // A followed 301/302 turns the POST into a GET, whose 2xx would pass for a delivery
+                .disableRedirectHandling()
+                .build();
+    }
+
+    @Bean
+    public RestTemplate restTemplate(RestTemplateBuilder builder, CloseableHttpClient pooledHttpClient) {
+        return builder
+                .requestFactory(() -> new HttpComponentsClientHttpRequestFactory(pooledHttpClient))
+                .build();
+    }
+}
@@ -0,0 +1,34 @@
+package com.cobre.notification.infrastructure.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.kafka.listener.CommonErrorHandler;
+import org.springframework.kafka.listener.DefaultErrorHandler;
+import org.springframework.util.backoff.ExponentialBackOff;
+
+import java.time.Duration;
+import java.util.Map;
+
+@Configuration
+public class KafkaConfig {
+
+    /**
+     * Retries a failed ingestion batch until it is stored. Spring Boot applies this handler to the
+     * batch listener container factory. The default handler gives up after ten attempts and
+     * commits the batch's offsets, which would lose it.
+     */
+    @Bean
+    public CommonErrorHandler kafkaErrorHandler(
+            @Value("${webhook.ingestion.retry.initial-interval:1s}") Duration initialInterval,
+            @Value("${webhook.ingestion.retry.max-interval:1m}") Duration maxInterval) {
+        // No elapsed-time limit, so the back-off never runs out and the recoverer is never called
+        ExponentialBackOff backOff = new ExponentialBackOff(initialInterval.toMillis(), 2.0);
+        backOff.setMaxInterval(maxInterval.toMillis());
+
+        DefaultErrorHandler errorHandler = new DefaultErrorHandler(backOff);
+        // Treat every exception as retryable; none of them may skip the batch
+        errorHandler.setClassifications(Map.of(), true);
+        return errorHandler;
+    }
+}
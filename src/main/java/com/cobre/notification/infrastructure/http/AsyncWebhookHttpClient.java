@@ -0,0 +1,141 @@
+package com.cobre.notification.infrastructure.http;
+
+import com.cobre.notification.domain.port.out.WebhookClient;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.net.http.HttpTimeoutException;
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+
+/**
+ * Non-blocking {@link WebhookClient} on the JDK HTTP client. Requests are multiplexed over
+ * HTTP/2 where the endpoint supports it, and each destination host has a bounded number of
+ * in-flight requests; excess requests wait in a bounded per-host {@link HostLimiter} queue
+ * without holding a thread. Limiters of hosts that have gone quiet are evicted.
+ */
+@Component
+@ConditionalOnProperty(name = "webhook.http.client", havingValue = "async")
+public class AsyncWebhookHttpClient implements WebhookClient {
+
+    private static final Logger logger = LoggerFactory.getLogger(AsyncWebhookHttpClient.class);
+
+    private final HttpClient httpClient;
+    private final ExecutorService callbackExecutor;
+    private final Duration requestTimeout;
+    private final int maxInFlightPerHost;
+    private final int maxQueuedPerHost;
+    private final Duration limiterIdleTimeout;
+    private final Map<String, HostLimiter> hostLimiters = new ConcurrentHashMap<>();
+
+    public AsyncWebhookHttpClient(@Value("${webhook.delivery.timeout:30s}") Duration requestTimeout,
+                                  @Value("${webhook.http.max-in-flight-per-host:256}") int maxInFlightPerHost,
+                                  @Value("${webhook.http.max-queued-per-host:1024}") int maxQueuedPerHost,
+                                  @Value("${webhook.http.limiter-idle-timeout:30m}") Duration limiterIdleTimeout,
+                                  @Value("${webhook.http.io-threads:4}") int ioThreads) {
+        CustomizableThreadFactory threadFactory = new CustomizableThreadFactory("webhook-http-");
+        threadFactory.setDaemon(true);
+
+        this.callbackExecutor = Executors.newFixedThreadPool(ioThreads, threadFactory);
+        this.requestTimeout = requestTimeout;
+        this.maxInFlightPerHost = maxInFlightPerHost;
+        this.maxQueuedPerHost = maxQueuedPerHost;
+        this.limiterIdleTimeout = limiterIdleTimeout;
+        this.httpClient = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_2)
+                .connectTimeout(Duration.ofSeconds(10))
+                .followRedirects(HttpClient.Redirect.NEVER)
+                .executor(callbackExecutor)
+                .build();
+    }
+
+    @Override
+    public WebhookResponse post(String url, byte[] payload, Map<String, String> headers) {
+        return postAsync(url, payload, headers).join();
+    }
+
+    @Override
+    public CompletableFuture<WebhookResponse> postAsync(String url, byte[] payload, Map<String, String> headers) {
+        HttpRequest request;
+        URI uri;
+        try {
+            uri = URI.create(url);
+            HttpRequest.Builder builder = HttpRequest.newBuilder(uri)
+                    .timeout(requestTimeout)
+                    .POST(HttpRequest.BodyPublishers.ofByteArray(payload));
+            headers.forEach(builder::header);
+            request = builder.build();
+        } catch (IllegalArgumentException e) {
+            logger.warn("Invalid webhook request for {}: {}", url, e.getMessage());
+            return CompletableFuture.completedFuture(
+                    new WebhookResponse(0, null, "Invalid request: " + e.getMessage(), false));
+        }
+
+        logger.debug("Sending webhook to: {}", url);
+        // Touched under the map's lock, so eviction cannot drop a limiter that was just handed out
+        HostLimiter limiter = hostLimiters.compute(uri.getAuthority(), (host, existing) -> {
+            HostLimiter current = existing != null ? existing : new HostLimiter(maxInFlightPerHost, maxQueuedPerHost);
+            current.touch();
+            return current;
+        });
+        return limiter.submit(() -> httpClient.sendAsync(request, HttpResponse.BodyHandlers.ofString()))
+                .handle(this::toWebhookResponse);
+    }
+
+    @Scheduled(fixedDelayString = "${webhook.http.limiter-eviction-interval:300000}")
+    public void evictIdleLimiters() {
+        long cutoff = System.nanoTime() - limiterIdleTimeout.toNanos();
+        hostLimiters.keySet().forEach(host ->
+                hostLimiters.computeIfPresent(host, (key, limiter) -> limiter.isIdleSince(cutoff) ? null : limiter));
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        callbackExecutor.shutdown();
+    }
+
+    private WebhookResponse toWebhookResponse(HttpResponse<String> response, Throwable error) {
+        if (error != null) {
+            Throwable cause = error instanceof CompletionException && error.getCause() != null ?
+                    error.getCause() : error;
+            if (cause instanceof RejectedExecutionException) {
+                // Too far behind on this host to queue more; fail fast like an unreachable endpoint
+                logger.warn("Webhook request rejected: {}", cause.getMessage());
+                return new WebhookResponse(0, null, "Rejected: " + cause.getMessage(), false);
+            }
+            if (cause instanceof HttpTimeoutException || cause instanceof IOException) {
+                logger.warn("Network error delivering webhook: {}", cause.getMessage());
+                return new WebhookResponse(0, null, "Network error: " + cause.getMessage(), false);
+            }
+            logger.error("Unexpected error delivering webhook", cause);
+            return new WebhookResponse(0, null, "Unexpected error: " + cause.getMessage(), false);
+        }
+
+        int statusCode = response.statusCode();
+        boolean success = statusCode >= 200 && statusCode < 300;
+        return new WebhookResponse(
+                statusCode,
+                response.body(),
+                success ? null : "HTTP " + statusCode,
+                success,
+                RetryAfter.parse(response.headers().firstValue("Retry-After").orElse(null))
+        );
+    }
+}
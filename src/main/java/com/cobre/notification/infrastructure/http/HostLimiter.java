@@ -0,0 +1,91 @@
+package com.cobre.notification.infrastructure.http;
+
+import java.util.Queue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+/**
+ * Bounds the requests in flight to one host. Excess requests wait in a queue without holding a
+ * thread, up to {@code maxQueued}; beyond that they are rejected rather than buffered without limit.
+ */
+final class HostLimiter {
+
+    private final int maxInFlight;
+    private final int maxQueued;
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private final AtomicInteger queued = new AtomicInteger();
+    private final Queue<Runnable> waiting = new ConcurrentLinkedQueue<>();
+    private volatile long lastUsedNanos = System.nanoTime();
+
+    HostLimiter(int maxInFlight, int maxQueued) {
+        this.maxInFlight = maxInFlight;
+        this.maxQueued = maxQueued;
+    }
+
+    /**
+     * Runs {@code call} once a slot is free. The returned future fails with
+     * {@link RejectedExecutionException} when the queue is already full.
+     */
+    <T> CompletableFuture<T> submit(Supplier<CompletableFuture<T>> call) {
+        if (queued.incrementAndGet() > maxQueued) {
+            queued.decrementAndGet();
+            return CompletableFuture.failedFuture(new RejectedExecutionException(
+                    maxQueued + " requests already waiting for this host"));
+        }
+
+        CompletableFuture<T> result = new CompletableFuture<>();
+        waiting.add(() -> {
+            try {
+                call.get().whenComplete((value, error) -> {
+                    release();
+                    if (error != null) {
+                        result.completeExceptionally(error);
+                    } else {
+                        result.complete(value);
+                    }
+                });
+            } catch (RuntimeException e) {
+                release();
+                result.completeExceptionally(e);
+            }
+        });
+        drain();
+        return result;
+    }
+
+    void touch() {
+        lastUsedNanos = System.nanoTime();
+    }
+
+    // Nothing in flight or waiting, and not handed out since the cutoff
+    boolean isIdleSince(long cutoffNanos) {
+        return inFlight.get() == 0 && queued.get() == 0 && lastUsedNanos - cutoffNanos < 0;
+    }
+
+    private void release() {
+        inFlight.decrementAndGet();
+        drain();
+    }
+
+    private void drain() {
+        while (!waiting.isEmpty()) {
+            int current = inFlight.get();
+            if (current >= maxInFlight) {
+                return;
+            }
+            if (!inFlight.compareAndSet(current, current + 1)) {
+                continue;
+            }
+            Runnable next = waiting.poll();
+            if (next == null) {
+                inFlight.decrementAndGet();
+                continue;
+            }
+            queued.decrementAndGet();
+            next.run();
+        }
+    }
+}
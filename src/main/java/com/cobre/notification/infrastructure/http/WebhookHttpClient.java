@@ -3,6 +3,7 @@ package com.cobre.notification.infrastructure.http;
 import com.cobre.notification.domain.port.out.WebhookClient;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.http.*;
 import org.springframework.stereotype.Component;
 import org.springframework.web.client.HttpClientErrorException;
@@ -14,6 +15,7 @@ import java.time.Duration;
 import java.util.Map;
 
 @Component
+@ConditionalOnProperty(name = "webhook.http.client", havingValue = "blocking", matchIfMissing = true)
 public class WebhookHttpClient implements WebhookClient {
 
     private static final Logger logger = LoggerFactory.getLogger(WebhookHttpClient.class);
@@ -26,12 +28,13 @@ public class WebhookHttpClient implements WebhookClient {
     }
 
     @Override
-    public WebhookResponse post(String url, String payload, Map<String, String> headers) {
+    public WebhookResponse post(String url, byte[] payload, Map<String, String> headers) {
         try {
             HttpHeaders httpHeaders = new HttpHeaders();
             headers.forEach(httpHeaders::add);
 
-            HttpEntity<String> entity = new HttpEntity<>(payload, httpHeaders);
+            // Written as-is by the byte array converter, no re-encoding
+            HttpEntity<byte[]> entity = new HttpEntity<>(payload, httpHeaders);
 
             logger.debug("Sending webhook to: {}", url);
             ResponseEntity<String> response = restTemplate.exchange(
@@ -48,16 +51,19 @@ public class WebhookHttpClient implements WebhookClient {
                     statusCode,
                     response.getBody(),
                     success ? null : "HTTP " + statusCode,
-                    success
+                    success,
+                    RetryAfter.parse(response.getHeaders().getFirst(HttpHeaders.RETRY_AFTER))
             );
 
         } catch (HttpClientErrorException | HttpServerErrorException e) {
             logger.warn("HTTP error delivering webhook: {}", e.getMessage());
+            HttpHeaders responseHeaders = e.getResponseHeaders();
             return new WebhookResponse(
                     e.getStatusCode().value(),
                     e.getResponseBodyAsString(),
                     e.getMessage(),
-                    false
+                    false,
+                    responseHeaders != null ? RetryAfter.parse(responseHeaders.getFirst(HttpHeaders.RETRY_AFTER)) : null
             );
         } catch (ResourceAccessException e) {
             logger.error("Network error delivering webhook", e);
@@ -0,0 +1,100 @@
+package com.cobre.notification.infrastructure.persistence.cache;
+
+import com.cobre.notification.domain.model.SubscriptionIndex;
+import com.cobre.notification.domain.model.WebhookSubscription;
+import com.cobre.notification.domain.port.out.SubscriptionRepository;
+import com.cobre.notification.infrastructure.persistence.jpa.JpaSubscriptionRepository;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Primary;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.function.Predicate;
+
+/**
+ * Read-through cache in front of the subscription table. Each client's subscriptions are cached
+ * as a compiled {@link SubscriptionIndex}; clients without subscriptions are cached as well, with
+ * a shorter TTL, so unknown tenants do not hit the database on every event. Entries are
+ * invalidated across nodes by {@link SubscriptionChangeListener}; the TTL only bounds staleness
+ * if a notification is lost.
+ */
+@Primary
+@Component
+public class CachingSubscriptionRepository implements SubscriptionRepository {
+
+    private final JpaSubscriptionRepository delegate;
+    private final Cache<String, SubscriptionIndex> indexes;
+    private final Cache<UUID, Optional<WebhookSubscription>> subscriptions;
+
+    public CachingSubscriptionRepository(JpaSubscriptionRepository delegate,
+                                         MeterRegistry meterRegistry,
+                                         @Value("${webhook.subscriptions.cache.max-size:100000}") long maxSize,
+                                         @Value("${webhook.subscriptions.cache.ttl:10m}") Duration ttl,
+                                         @Value("${webhook.subscriptions.cache.negative-ttl:1m}") Duration negativeTtl) {
+        this.delegate = delegate;
+        this.indexes = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfter(new NegativeAwareExpiry<String, SubscriptionIndex>(
+                        SubscriptionIndex::isEmpty, ttl, negativeTtl))
+                .recordStats()
+                .build();
+        this.subscriptions = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfter(new NegativeAwareExpiry<UUID, Optional<WebhookSubscription>>(
+                        Optional::isEmpty, ttl, negativeTtl))
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, indexes, "webhook.subscriptions.indexes");
+        CaffeineCacheMetrics.monitor(meterRegistry, subscriptions, "webhook.subscriptions.by-id");
+    }
+
+    @Override
+    public SubscriptionIndex findIndexByClientId(String clientId) {
+        return indexes.get(clientId, delegate::findIndexByClientId);
+    }
+
+    @Override
+    public Optional<WebhookSubscription> findById(UUID id) {
+        return subscriptions.get(id, delegate::findById);
+    }
+
+    public void invalidate(String clientId, UUID subscriptionId) {
+        if (clientId != null) {
+            indexes.invalidate(clientId);
+        }
+        if (subscriptionId != null) {
+            subscriptions.invalidate(subscriptionId);
+        }
+    }
+
+    public void invalidateAll() {
+        indexes.invalidateAll();
+        subscriptions.invalidateAll();
+    }
+
+    private record NegativeAwareExpiry<K, V>(Predicate<V> isNegative, Duration ttl, Duration negativeTtl)
+            implements Expiry<K, V> {
+
+        @Override
+        public long expireAfterCreate(K key, V value, long currentTime) {
+            return (isNegative.test(value) ? negativeTtl : ttl).toNanos();
+        }
+
+        @Override
+        public long expireAfterUpdate(K key, V value, long currentTime, long currentDuration) {
+            return expireAfterCreate(key, value, currentTime);
+        }
+
+        @Override
+        public long expireAfterRead(K key, V value, long currentTime, long currentDuration) {
+            return currentDuration;
+        }
+    }
+}
@@ -0,0 +1,107 @@
+package com.cobre.notification.infrastructure.persistence.cache;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.postgresql.PGConnection;
+import org.postgresql.PGNotification;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.stereotype.Component;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.UUID;
+
+/**
+ * Listens on the Postgres channel fed by the subscription change trigger and evicts the matching
+ * cache entries on this node. Uses its own connection outside the pool since it is held for the
+ * lifetime of the application.
+ */
+@Component
+public class SubscriptionChangeListener {
+
+    private static final Logger logger = LoggerFactory.getLogger(SubscriptionChangeListener.class);
+    private static final String CHANNEL = "subscription_changes";
+    private static final int POLL_TIMEOUT_MILLIS = 5000;
+    private static final long RECONNECT_DELAY_MILLIS = 5000;
+
+    private final CachingSubscriptionRepository cache;
+    private final DataSourceProperties dataSourceProperties;
+    private final ObjectMapper objectMapper;
+    private Thread listener;
+
+    public SubscriptionChangeListener(CachingSubscriptionRepository cache,
+                                      DataSourceProperties dataSourceProperties,
+                                      ObjectMapper objectMapper) {
+        this.cache = cache;
+        this.dataSourceProperties = dataSourceProperties;
+        this.objectMapper = objectMapper;
+    }
+
+    @PostConstruct
+    public void start() {
+        String url = dataSourceProperties.determineUrl();
+        if (url == null || !url.startsWith("jdbc:postgresql:")) {
+            logger.info("Subscription change notifications need Postgres, relying on cache TTL only");
+            return;
+        }
+        listener = new Thread(this::listen, "subscription-change-listener");
+        listener.setDaemon(true);
+        listener.start();
+    }
+
+    @PreDestroy
+    public void stop() {
+        if (listener != null) {
+            listener.interrupt();
+        }
+    }
+
+    private void listen() {
+        while (!Thread.currentThread().isInterrupted()) {
+            try (Connection connection = DriverManager.getConnection(
+                    dataSourceProperties.determineUrl(),
+                    dataSourceProperties.determineUsername(),
+                    dataSourceProperties.determinePassword())) {
+                try (Statement statement = connection.createStatement()) {
+                    statement.execute("LISTEN " + CHANNEL);
+                }
+                // Changes made while we were not listening are lost, so start from a clean cache
+                cache.invalidateAll();
+
+                PGConnection pgConnection = connection.unwrap(PGConnection.class);
+                while (!Thread.currentThread().isInterrupted()) {
+                    PGNotification[] notifications = pgConnection.getNotifications(POLL_TIMEOUT_MILLIS);
+                    if (notifications != null) {
+                        for (PGNotification notification : notifications) {
+                            apply(notification.getParameter());
+                        }
+                    }
+                }
+            } catch (SQLException e) {
+                logger.warn("Subscription change listener disconnected: {}", e.getMessage());
+                try {
+                    Thread.sleep(RECONNECT_DELAY_MILLIS);
+                } catch (InterruptedException interrupted) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+        }
+    }
+
+    private void apply(String payload) {
+        try {
+            JsonNode change = objectMapper.readTree(payload);
+            cache.invalidate(change.path("clientId").asText(null),
+                    change.hasNonNull("id") ? UUID.fromString(change.get("id").asText()) : null);
+        } catch (Exception e) {
+            logger.warn("Unreadable subscription change '{}', clearing cache", payload);
+            cache.invalidateAll();
+        }
+    }
+}
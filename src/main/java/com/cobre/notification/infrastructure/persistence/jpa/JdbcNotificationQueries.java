@@ -0,0 +1,183 @@
+package com.cobre.notification.infrastructure.persistence.jpa;
+
+import com.cobre.notification.domain.model.DeliveryStatus;
+import com.cobre.notification.domain.model.EventCursor;
+import com.cobre.notification.domain.model.EventPayload;
+import com.cobre.notification.domain.model.NotificationEvent;
+import com.cobre.notification.infrastructure.persistence.payload.PayloadCodec;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.SliceImpl;
+import org.springframework.data.domain.Sort;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.stream.Collectors;
+
+/**
+ * Client-facing event queries, built per request from the supplied filters only.
+ */
+@Component
+public class JdbcNotificationQueries {
+
+    // Everything but event_data, which can be tens of KB per row and is not needed in listings
+    private static final String SUMMARY_COLUMNS =
+            "id, client_id, event_type, created_at, webhook_url, subscription_id, delivery_status, " +
+            "delivery_attempts, last_attempt_at, next_attempt_at, delivered_at, error_message, response_code, version, " +
+            "lease_owner, lease_expires_at";
+
+    // Inline event_data for events stored before payloads moved to event_payloads
+    private static final String EVENT_COLUMNS = SUMMARY_COLUMNS +
+            ", event_data, p.encoding AS payload_encoding, p.data AS payload_data";
+
+    private static final String SELECT_EVENT =
+            "SELECT " + EVENT_COLUMNS + " FROM notification_events" + NotificationEventQuery.PAYLOAD_JOIN;
+
+    private static final String DEFAULT_ORDER = "created_at DESC, id DESC";
+
+    // Sortable API properties and their columns; anything else is rejected
+    private static final Map<String, String> SORT_COLUMNS = Map.of(
+            "createdAt", "created_at",
+            "deliveryStatus", "delivery_status",
+            "deliveryAttempts", "delivery_attempts",
+            "lastAttemptAt", "last_attempt_at",
+            "deliveredAt", "delivered_at",
+            "eventType", "event_type"
+    );
+
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+
+    public JdbcNotificationQueries(NamedParameterJdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    public List<NotificationEvent> findAllById(Collection<UUID> ids) {
+        if (ids.isEmpty()) {
+            return List.of();
+        }
+        return jdbcTemplate.query(SELECT_EVENT + " WHERE id IN (:ids)",
+                new MapSqlParameterSource("ids", ids), eventRowMapper(true));
+    }
+
+    public Optional<NotificationEvent> findById(UUID id) {
+        return jdbcTemplate.query(SELECT_EVENT + " WHERE id = :id",
+                new MapSqlParameterSource("id", id), eventRowMapper(true)).stream().findFirst();
+    }
+
+    public Optional<NotificationEvent> findByIdAndClientId(UUID id, String clientId) {
+        return jdbcTemplate.query(SELECT_EVENT + " WHERE id = :id AND client_id = :clientId",
+                new MapSqlParameterSource("id", id).addValue("clientId", clientId), eventRowMapper(true))
+                .stream().findFirst();
+    }
+
+    public Page<NotificationEvent> findByClientIdWithFilters(String clientId, Instant eventDateFrom,
+                                                             Instant eventDateTo, String deliveryStatus,
+                                                             Pageable pageable, boolean includePayload) {
+        NotificationEventQuery query = new NotificationEventQuery(clientId)
+                .createdFrom(eventDateFrom)
+                .createdTo(eventDateTo)
+                .deliveryStatus(deliveryStatus)
+                .withPayload(includePayload);
+
+        String sql = query.select(columns(includePayload), orderBy(pageable.getSort()),
+                pageable.getPageSize(), pageable.getOffset());
+        List<NotificationEvent> content = jdbcTemplate.query(sql, query.params(), eventRowMapper(includePayload));
+
+        // Skip the count when this page already shows where the result ends
+        if (content.size() < pageable.getPageSize() && (pageable.getOffset() == 0 || !content.isEmpty())) {
+            return new PageImpl<>(content, pageable, pageable.getOffset() + content.size());
+        }
+        Long total = jdbcTemplate.queryForObject(query.count(), query.params(), Long.class);
+        return new PageImpl<>(content, pageable, total != null ? total : 0);
+    }
+
+    public Slice<NotificationEvent> findByClientIdAfter(String clientId, Instant eventDateFrom, Instant eventDateTo,
+                                                        String deliveryStatus, EventCursor after, int limit,
+                                                        boolean includePayload) {
+        NotificationEventQuery query = new NotificationEventQuery(clientId)
+                .createdFrom(eventDateFrom)
+                .createdTo(eventDateTo)
+                .deliveryStatus(deliveryStatus)
+                .before(after)
+                .withPayload(includePayload);
+
+        // One extra row tells us whether there is a next page without counting
+        List<NotificationEvent> rows = jdbcTemplate.query(
+                query.select(columns(includePayload), DEFAULT_ORDER, limit + 1, 0), query.params(),
+                eventRowMapper(includePayload));
+        boolean hasNext = rows.size() > limit;
+        return new SliceImpl<>(hasNext ? rows.subList(0, limit) : rows, PageRequest.ofSize(limit), hasNext);
+    }
+
+    private static String columns(boolean includePayload) {
+        return includePayload ? EVENT_COLUMNS : SUMMARY_COLUMNS;
+    }
+
+    private static String orderBy(Sort sort) {
+        if (sort.isUnsorted()) {
+            return DEFAULT_ORDER;
+        }
+        String order = sort.stream()
+                .map(o -> {
+                    String column = SORT_COLUMNS.get(o.getProperty());
+                    if (column == null) {
+                        throw new IllegalArgumentException("Unsupported sort property: " + o.getProperty());
+                    }
+                    return column + (o.isAscending() ? " ASC" : " DESC");
+                })
+                .collect(Collectors.joining(", "));
+        // Stable order across pages
+        return order + ", id DESC";
+    }
+
+    private static Instant toInstant(Timestamp timestamp) {
+        return timestamp != null ? timestamp.toInstant() : null;
+    }
+
+    // Kept in stored form; decompressed only if the payload is actually read
+    private static EventPayload payload(ResultSet rs) throws SQLException {
+        String encoding = rs.getString("payload_encoding");
+        if (encoding != null) {
+            return PayloadCodec.decodeLazily(encoding, rs.getBytes("payload_data"));
+        }
+        String eventData = rs.getString("event_data");
+        // Neither stored nor inline, e.g. its payload row was removed; the caller decides what that means
+        return eventData != null ? EventPayload.of(eventData) : null;
+    }
+
+    static RowMapper<NotificationEvent> eventRowMapper(boolean includePayload) {
+        return (rs, rowNum) -> new NotificationEvent(
+                rs.getObject("id", UUID.class),
+                rs.getString("client_id"),
+                rs.getString("event_type"),
+                includePayload ? payload(rs) : null,
+                toInstant(rs.getTimestamp("created_at")),
+                rs.getString("webhook_url"),
+                rs.getObject("subscription_id", UUID.class),
+                DeliveryStatus.valueOf(rs.getString("delivery_status")),
+                rs.getInt("delivery_attempts"),
+                toInstant(rs.getTimestamp("last_attempt_at")),
+                toInstant(rs.getTimestamp("next_attempt_at")),
+                toInstant(rs.getTimestamp("delivered_at")),
+                rs.getString("error_message"),
+                (Integer) rs.getObject("response_code"),
+                rs.getLong("version"),
+                rs.getString("lease_owner"),
+                toInstant(rs.getTimestamp("lease_expires_at"))
+        );
+    }
+}
@@ -1,88 +1,265 @@
 package com.cobre.notification.infrastructure.persistence.jpa;
 
 import com.cobre.notification.domain.model.DeliveryStatus;
+import com.cobre.notification.domain.model.EventCursor;
 import com.cobre.notification.domain.model.NotificationEvent;
+import com.cobre.notification.domain.model.PendingDelivery;
+import com.cobre.notification.domain.model.ScheduledRetry;
 import com.cobre.notification.domain.port.out.NotificationRepository;
+import com.cobre.notification.infrastructure.persistence.payload.PayloadStore;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
 import org.springframework.stereotype.Component;
 
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.time.Duration;
 import java.time.Instant;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
 import java.util.Optional;
+import java.util.Set;
 import java.util.UUID;
 
 @Component
 public class JpaNotificationRepository implements NotificationRepository {
 
-    private final NotificationJpaRepository jpaRepository;
+    // Rows locked by another node's claim are skipped; expired leases become claimable again
+    private static final String CLAIM_DUE_RETRIES_SQL =
+            "UPDATE notification_events SET lease_owner = :nodeId, lease_expires_at = :leaseExpiresAt " +
+            "WHERE id IN (" +
+            "  SELECT id FROM notification_events " +
+            "  WHERE delivery_status = 'RETRYING' " +
+            "    AND next_attempt_at <= :now " +
+            "    AND (lease_expires_at IS NULL OR lease_expires_at < :now) " +
+            "  ORDER BY next_attempt_at " +
+            "  LIMIT :limit " +
+            "  FOR UPDATE SKIP LOCKED" +
+            ") RETURNING id, client_id";
 
-    public JpaNotificationRepository(NotificationJpaRepository jpaRepository) {
-        this.jpaRepository = jpaRepository;
+    // A lease released by a recorded outcome, or taken over after expiring, is left alone
+    private static final String EXTEND_RETRY_LEASES_SQL =
+            "UPDATE notification_events SET lease_expires_at = :leaseExpiresAt " +
+            "WHERE id IN (:ids) AND lease_owner = :nodeId";
+
+    // Served by the partial (next_attempt_at, id) index, so paging never revisits earlier rows
+    private static final String SCHEDULED_RETRIES_SQL =
+            "SELECT id, next_attempt_at FROM notification_events " +
+            "WHERE delivery_status = 'RETRYING'%s " +
+            "ORDER BY next_attempt_at, id " +
+            "LIMIT :limit";
+
+    private static final String DEFER_SQL =
+            "UPDATE notification_events SET delivery_status = 'RETRYING', next_attempt_at = :nextAttemptAt, " +
+            "lease_owner = NULL, lease_expires_at = NULL, version = version + 1 " +
+            "WHERE id = :id AND delivery_status IN ('PENDING', 'RETRYING')";
+
+    // Touches only the delivery columns so the event_data TOAST is never rewritten
+    private static final String RECORD_ATTEMPT_SQL =
+            "UPDATE notification_events SET delivery_status = :deliveryStatus, " +
+            "delivery_attempts = :deliveryAttempts, last_attempt_at = :lastAttemptAt, " +
+            "next_attempt_at = :nextAttemptAt, delivered_at = :deliveredAt, " +
+            "error_message = :errorMessage, response_code = :responseCode, " +
+            "lease_owner = NULL, lease_expires_at = NULL, version = version + 1 " +
+            "WHERE id = :id AND version = :version";
+
+    // reWriteBatchedInserts on the JDBC URL folds the batch into multi-row INSERTs
+    private static final String INSERT_SQL =
+            "INSERT INTO notification_events (id, client_id, event_type, payload_hash, created_at, webhook_url, " +
+            "subscription_id, delivery_status, delivery_attempts, last_attempt_at, next_attempt_at, delivered_at, " +
+            "error_message, response_code) " +
+            "VALUES (:id, :clientId, :eventType, :payloadHash, :createdAt, :webhookUrl, :subscriptionId, " +
+            ":deliveryStatus, :deliveryAttempts, :lastAttemptAt, :nextAttemptAt, :deliveredAt, " +
+            ":errorMessage, :responseCode)";
+
+    // Rows are appended as VALUES tuples; saving a row releases its retry lease like save() does
+    private static final String UPDATE_STATUS_BATCH_SQL =
+            "UPDATE notification_events AS n SET delivery_status = v.delivery_status, " +
+            "delivery_attempts = v.delivery_attempts, last_attempt_at = v.last_attempt_at, " +
+            "next_attempt_at = v.next_attempt_at, delivered_at = v.delivered_at, " +
+            "error_message = v.error_message, response_code = v.response_code, " +
+            "lease_owner = NULL, lease_expires_at = NULL, version = n.version + 1 " +
+            "FROM (VALUES %s) AS v(id, version, delivery_status, delivery_attempts, last_attempt_at, " +
+            "next_attempt_at, delivered_at, error_message, response_code) " +
+            "WHERE n.id = v.id AND n.version = v.version " +
+            "RETURNING n.id";
+
+    private static final String UPDATE_STATUS_ROW =
+            "(CAST(:id%1$d AS uuid), CAST(:version%1$d AS bigint), CAST(:deliveryStatus%1$d AS varchar), CAST(:deliveryAttempts%1$d AS integer), " +
+            "CAST(:lastAttemptAt%1$d AS timestamp), CAST(:nextAttemptAt%1$d AS timestamp), " +
+            "CAST(:deliveredAt%1$d AS timestamp), CAST(:errorMessage%1$d AS text), CAST(:responseCode%1$d AS integer))";
+
+    // Keeps each statement well under the 32767 bind parameter limit
+    private static final int STATUS_BATCH_CHUNK_SIZE = 1000;
+
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+    private final JdbcNotificationQueries queries;
+    private final PayloadStore payloadStore;
+
+    public JpaNotificationRepository(NamedParameterJdbcTemplate jdbcTemplate,
+                                     JdbcNotificationQueries queries,
+                                     PayloadStore payloadStore) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.queries = queries;
+        this.payloadStore = payloadStore;
+    }
+
+    @Override
+    public void insertBatch(List<NotificationEvent> events) {
+        if (events.isEmpty()) {
+            return;
+        }
+        // Identical payloads share one stored, compressed copy
+        List<byte[]> payloadHashes = payloadStore.storeAll(
+                events.stream().map(NotificationEvent::getPayloadBytes).toList());
+        MapSqlParameterSource[] batch = new MapSqlParameterSource[events.size()];
+        for (int i = 0; i < events.size(); i++) {
+            NotificationEvent event = events.get(i);
+            batch[i] = new MapSqlParameterSource()
+                    .addValue("id", event.getId())
+                    .addValue("clientId", event.getClientId())
+                    .addValue("eventType", event.getEventType())
+                    .addValue("payloadHash", payloadHashes.get(i))
+                    .addValue("createdAt", Timestamp.from(event.getCreatedAt()))
+                    .addValue("webhookUrl", event.getWebhookUrl())
+                    .addValue("subscriptionId", event.getSubscriptionId(), Types.OTHER)
+                    .addValue("deliveryStatus", event.getDeliveryStatus().name())
+                    .addValue("deliveryAttempts", event.getDeliveryAttempts())
+                    .addValue("lastAttemptAt", toTimestamp(event.getLastAttemptAt()), Types.TIMESTAMP)
+                    .addValue("nextAttemptAt", toTimestamp(event.getNextAttemptAt()), Types.TIMESTAMP)
+                    .addValue("deliveredAt", toTimestamp(event.getDeliveredAt()), Types.TIMESTAMP)
+                    .addValue("errorMessage", event.getErrorMessage(), Types.VARCHAR)
+                    .addValue("responseCode", event.getResponseCode(), Types.INTEGER);
+        }
+        jdbcTemplate.batchUpdate(INSERT_SQL, batch);
+    }
+
+    @Override
+    public Set<UUID> updateStatusBatch(List<NotificationEvent> events) {
+        Set<UUID> written = new HashSet<>(events.size());
+        for (int from = 0; from < events.size(); from += STATUS_BATCH_CHUNK_SIZE) {
+            List<NotificationEvent> chunk = events.subList(from, Math.min(events.size(), from + STATUS_BATCH_CHUNK_SIZE));
+            StringBuilder rows = new StringBuilder();
+            MapSqlParameterSource params = new MapSqlParameterSource();
+            for (int i = 0; i < chunk.size(); i++) {
+                NotificationEvent event = chunk.get(i);
+                if (i > 0) {
+                    rows.append(", ");
+                }
+                rows.append(String.format(UPDATE_STATUS_ROW, i));
+                params.addValue("id" + i, event.getId())
+                        .addValue("version" + i, event.getVersion())
+                        .addValue("deliveryStatus" + i, event.getDeliveryStatus().name())
+                        .addValue("deliveryAttempts" + i, event.getDeliveryAttempts())
+                        .addValue("lastAttemptAt" + i, toTimestamp(event.getLastAttemptAt()), Types.TIMESTAMP)
+                        .addValue("nextAttemptAt" + i, toTimestamp(event.getNextAttemptAt()), Types.TIMESTAMP)
+                        .addValue("deliveredAt" + i, toTimestamp(event.getDeliveredAt()), Types.TIMESTAMP)
+                        .addValue("errorMessage" + i, event.getErrorMessage(), Types.VARCHAR)
+                        .addValue("responseCode" + i, event.getResponseCode(), Types.INTEGER);
+            }
+            written.addAll(jdbcTemplate.queryForList(String.format(UPDATE_STATUS_BATCH_SQL, rows), params, UUID.class));
+        }
+        return written;
     }
 
     @Override
-    public NotificationEvent save(NotificationEvent event) {
-        NotificationEventEntity entity = toEntity(event);
-        NotificationEventEntity saved = jpaRepository.save(entity);
-        return toDomain(saved);
+    public boolean recordAttempt(UUID id, long expectedVersion, DeliveryStatus status, int attempts,
+                                 Instant lastAttemptAt, Instant nextAttemptAt, Instant deliveredAt,
+                                 Integer responseCode, String errorMessage) {
+        return jdbcTemplate.update(RECORD_ATTEMPT_SQL, new MapSqlParameterSource()
+                .addValue("id", id)
+                .addValue("version", expectedVersion)
+                .addValue("deliveryStatus", status.name())
+                .addValue("deliveryAttempts", attempts)
+                .addValue("lastAttemptAt", toTimestamp(lastAttemptAt), Types.TIMESTAMP)
+                .addValue("nextAttemptAt", toTimestamp(nextAttemptAt), Types.TIMESTAMP)
+                .addValue("deliveredAt", toTimestamp(deliveredAt), Types.TIMESTAMP)
+                .addValue("errorMessage", errorMessage, Types.VARCHAR)
+                .addValue("responseCode", responseCode, Types.INTEGER)) == 1;
     }
 
     @Override
     public Optional<NotificationEvent> findById(UUID id) {
-        return jpaRepository.findById(id).map(this::toDomain);
+        return queries.findById(id);
+    }
+
+    @Override
+    public List<NotificationEvent> findAllById(Collection<UUID> ids) {
+        return queries.findAllById(ids);
     }
 
     @Override
     public Optional<NotificationEvent> findByIdAndClientId(UUID id, String clientId) {
-        return jpaRepository.findByIdAndClientId(id, clientId).map(this::toDomain);
+        return queries.findByIdAndClientId(id, clientId);
     }
 
     @Override
     public Page<NotificationEvent> findByClientIdWithFilters(String clientId, Instant eventDateFrom,
                                                              Instant eventDateTo, String deliveryStatus,
-                                                             Pageable pageable) {
-        return jpaRepository.findByClientIdWithFilters(clientId, eventDateFrom, eventDateTo,
-                        deliveryStatus, pageable)
-                .map(this::toDomain);
+                                                             Pageable pageable, boolean includePayload) {
+        return queries.findByClientIdWithFilters(clientId, eventDateFrom, eventDateTo, deliveryStatus, pageable,
+                includePayload);
+    }
+
+    @Override
+    public Slice<NotificationEvent> findByClientIdAfter(String clientId, Instant eventDateFrom, Instant eventDateTo,
+                                                        String deliveryStatus, EventCursor after, int limit,
+                                                        boolean includePayload) {
+        return queries.findByClientIdAfter(clientId, eventDateFrom, eventDateTo, deliveryStatus, after, limit,
+                includePayload);
     }
 
     @Override
-    public Page<NotificationEvent> findPendingRetries(Instant retryThreshold, Pageable pageable) {
-        return jpaRepository.findPendingRetries(retryThreshold, pageable)
-                .map(this::toDomain);
+    public List<ScheduledRetry> findScheduledRetries(ScheduledRetry after, int limit) {
+        MapSqlParameterSource params = new MapSqlParameterSource("limit", limit);
+        String keyset = "";
+        if (after != null) {
+            keyset = " AND (next_attempt_at, id) > (:afterAt, :afterId)";
+            params.addValue("afterAt", Timestamp.from(after.nextAttemptAt()))
+                    .addValue("afterId", after.notificationId());
+        }
+        return jdbcTemplate.query(String.format(SCHEDULED_RETRIES_SQL, keyset), params,
+                (rs, rowNum) -> new ScheduledRetry(
+                        rs.getObject("id", UUID.class),
+                        rs.getTimestamp("next_attempt_at").toInstant()));
     }
 
-    private NotificationEventEntity toEntity(NotificationEvent event) {
-        NotificationEventEntity entity = new NotificationEventEntity();
-        entity.setId(event.getId());
-        entity.setClientId(event.getClientId());
-        entity.setEventType(event.getEventType());
-        entity.setEventData(event.getEventData());
-        entity.setCreatedAt(event.getCreatedAt());
-        entity.setWebhookUrl(event.getWebhookUrl());
-        entity.setDeliveryStatus(event.getDeliveryStatus().name());
-        entity.setDeliveryAttempts(event.getDeliveryAttempts());
-        entity.setLastAttemptAt(event.getLastAttemptAt());
-        entity.setDeliveredAt(event.getDeliveredAt());
-        entity.setErrorMessage(event.getErrorMessage());
-        entity.setResponseCode(event.getResponseCode());
-        return entity;
+    @Override
+    public List<PendingDelivery> claimDueRetries(String nodeId, int limit, Duration leaseDuration) {
+        Instant now = Instant.now();
+        MapSqlParameterSource params = new MapSqlParameterSource()
+                .addValue("nodeId", nodeId)
+                .addValue("now", Timestamp.from(now))
+                .addValue("leaseExpiresAt", Timestamp.from(now.plus(leaseDuration)))
+                .addValue("limit", limit);
+        return jdbcTemplate.query(CLAIM_DUE_RETRIES_SQL, params, (rs, rowNum) -> new PendingDelivery(
+                rs.getObject("id", UUID.class),
+                rs.getString("client_id")));
+    }
+
+    @Override
+    public void extendRetryLeases(String nodeId, Collection<UUID> ids, Duration leaseDuration) {
+        if (ids.isEmpty()) {
+            return;
+        }
+        jdbcTemplate.update(EXTEND_RETRY_LEASES_SQL, new MapSqlParameterSource()
+                .addValue("ids", ids)
+                .addValue("nodeId", nodeId)
+                .addValue("leaseExpiresAt", Timestamp.from(Instant.now().plus(leaseDuration))));
+    }
+
+    @Override
+    public void defer(UUID id, Instant nextAttemptAt) {
+        jdbcTemplate.update(DEFER_SQL, new MapSqlParameterSource()
+                .addValue("id", id)
+                .addValue("nextAttemptAt", Timestamp.from(nextAttemptAt)));
     }
 
-    private NotificationEvent toDomain(NotificationEventEntity entity) {
-        return new NotificationEvent(
-                entity.getId(),
-                entity.getClientId(),
-                entity.getEventType(),
-                entity.getEventData(),
-                entity.getCreatedAt(),
-                entity.getWebhookUrl(),
-                DeliveryStatus.valueOf(entity.getDeliveryStatus()),
-                entity.getDeliveryAttempts(),
-                entity.getLastAttemptAt(),
-                entity.getDeliveredAt(),
-                entity.getErrorMessage(),
-                entity.getResponseCode()
-        );
+    private static Timestamp toTimestamp(Instant instant) {
+        return instant != null ? Timestamp.from(instant) : null;
     }
 }
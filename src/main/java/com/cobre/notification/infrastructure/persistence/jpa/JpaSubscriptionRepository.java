@@ -0,0 +1,54 @@
+package com.cobre.notification.infrastructure.persistence.jpa;
+
+import com.cobre.notification.domain.model.SubscriptionIndex;
+import com.cobre.notification.domain.model.WebhookSubscription;
+import com.cobre.notification.domain.port.out.SubscriptionRepository;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.Optional;
+import java.util.UUID;
+
+/**
+ * Reads subscriptions from the primary. Spring Data runs its finders in read-only transactions,
+ * which the routing data source sends to a replica, and a stale read there would then be cached
+ * by {@code CachingSubscriptionRepository} long after the replica caught up. The surrounding
+ * read-write transaction keeps them on the primary.
+ */
+@Component
+@Transactional
+public class JpaSubscriptionRepository implements SubscriptionRepository {
+
+    private final SubscriptionJpaRepository jpaRepository;
+
+    public JpaSubscriptionRepository(SubscriptionJpaRepository jpaRepository) {
+        this.jpaRepository = jpaRepository;
+    }
+
+    @Override
+    public SubscriptionIndex findIndexByClientId(String clientId) {
+        return SubscriptionIndex.of(jpaRepository.findByClientId(clientId).stream()
+                .map(this::toDomain)
+                .toList());
+    }
+
+    @Override
+    public Optional<WebhookSubscription> findById(UUID id) {
+        return jpaRepository.findById(id).map(this::toDomain);
+    }
+
+    private WebhookSubscription toDomain(WebhookSubscriptionEntity entity) {
+        return new WebhookSubscription(
+                entity.getId(),
+                entity.getClientId(),
+                entity.getEventType(),
+                entity.getWebhookUrl(),
+                entity.getSecretKey(),
+                !Boolean.FALSE.equals(entity.getActive()),
+                entity.getCreatedAt(),
+                entity.getRateLimitPerSecond(),
+                entity.getBatchMaxEvents(),
+                entity.getBatchMaxWaitMs()
+        );
+    }
+}
@@ -1,20 +1,25 @@
 package com.cobre.notification.infrastructure.persistence.jpa;
 
 import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.EqualsAndHashCode;
 import lombok.Getter;
+import lombok.NoArgsConstructor;
 import lombok.Setter;
+import org.hibernate.annotations.Immutable;
 
+import java.io.Serializable;
 import java.time.Instant;
 import java.util.UUID;
 
+// Read-only: events are written over JDBC by JpaNotificationRepository.
+// Indexes, several of them partial or descending, are defined by the Flyway migrations only
 @Setter
 @Getter
 @Entity
-@Table(name = "notification_events", indexes = {
-        @Index(name = "idx_client_created", columnList = "client_id, created_at"),
-        @Index(name = "idx_client_status", columnList = "client_id, delivery_status"),
-        @Index(name = "idx_status_attempt", columnList = "delivery_status, last_attempt_at")
-})
+@Immutable
+@Table(name = "notification_events")
+@IdClass(NotificationEventEntity.Key.class)
 public class NotificationEventEntity {
 
     // Getters and Setters
@@ -27,15 +32,24 @@ public class NotificationEventEntity {
     @Column(name = "event_type", nullable = false, length = 100)
     private String eventType;
 
-    @Column(name = "event_data", nullable = false, columnDefinition = "TEXT")
+    // Only set on events written before payloads moved to event_payloads
+    @Column(name = "event_data", columnDefinition = "TEXT")
     private String eventData;
 
+    @Column(name = "payload_hash")
+    private byte[] payloadHash;
+
+    // Part of the primary key since the table is partitioned by it
+    @Id
     @Column(name = "created_at", nullable = false)
     private Instant createdAt;
 
     @Column(name = "webhook_url", nullable = false, length = 500)
     private String webhookUrl;
 
+    @Column(name = "subscription_id")
+    private UUID subscriptionId;
+
     @Column(name = "delivery_status", nullable = false, length = 50)
     private String deliveryStatus;
 
@@ -45,6 +59,15 @@ public class NotificationEventEntity {
     @Column(name = "last_attempt_at")
     private Instant lastAttemptAt;
 
+    @Column(name = "next_attempt_at")
+    private Instant nextAttemptAt;
+
+    @Column(name = "lease_owner", length = 100)
+    private String leaseOwner;
+
+    @Column(name = "lease_expires_at")
+    private Instant leaseExpiresAt;
+
     @Column(name = "delivered_at")
     private Instant deliveredAt;
 
@@ -54,4 +77,15 @@ public class NotificationEventEntity {
     @Column(name = "response_code")
     private Integer responseCode;
 
+    @Version
+    @Column(name = "version", nullable = false)
+    private long version;
+
+    @EqualsAndHashCode
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Key implements Serializable {
+        private UUID id;
+        private Instant createdAt;
+    }
 }
\ No newline at end of file
@@ -0,0 +1,79 @@
+package com.cobre.notification.infrastructure.persistence.jpa;
+
+import com.cobre.notification.domain.model.EventCursor;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+
+import java.sql.Timestamp;
+import java.time.Instant;
+
+/**
+ * Builds the WHERE clause for client event queries from only the filters that were supplied,
+ * so Postgres sees plain predicates it can match to indexes and use for partition pruning,
+ * instead of "(:param IS NULL OR ...)" catch-alls that force a generic plan.
+ */
+class NotificationEventQuery {
+
+    static final String PAYLOAD_JOIN =
+            " LEFT JOIN event_payloads p ON p.hash = notification_events.payload_hash";
+
+    private final StringBuilder where = new StringBuilder(" WHERE client_id = :clientId");
+    private final MapSqlParameterSource params = new MapSqlParameterSource();
+    private String join = "";
+
+    NotificationEventQuery(String clientId) {
+        params.addValue("clientId", clientId);
+    }
+
+    NotificationEventQuery withPayload(boolean includePayload) {
+        join = includePayload ? PAYLOAD_JOIN : "";
+        return this;
+    }
+
+    NotificationEventQuery createdFrom(Instant from) {
+        if (from != null) {
+            where.append(" AND created_at >= :createdFrom");
+            params.addValue("createdFrom", Timestamp.from(from));
+        }
+        return this;
+    }
+
+    NotificationEventQuery createdTo(Instant to) {
+        if (to != null) {
+            where.append(" AND created_at <= :createdTo");
+            params.addValue("createdTo", Timestamp.from(to));
+        }
+        return this;
+    }
+
+    NotificationEventQuery deliveryStatus(String status) {
+        if (status != null) {
+            where.append(" AND delivery_status = :deliveryStatus");
+            params.addValue("deliveryStatus", status);
+        }
+        return this;
+    }
+
+    NotificationEventQuery before(EventCursor cursor) {
+        if (cursor != null) {
+            // Row comparison lets the (client_id, created_at, id) indexes seek straight to the cursor
+            where.append(" AND (created_at, id) < (:cursorCreatedAt, :cursorId)");
+            params.addValue("cursorCreatedAt", Timestamp.from(cursor.createdAt()))
+                    .addValue("cursorId", cursor.id());
+        }
+        return this;
+    }
+
+    String select(String columns, String orderBy, int limit, long offset) {
+        params.addValue("limit", limit).addValue("offset", offset);
+        return "SELECT " + columns + " FROM notification_events" + join + where +
+                " ORDER BY " + orderBy + " LIMIT :limit OFFSET :offset";
+    }
+
+    String count() {
+        return "SELECT count(*) FROM notification_events" + where;
+    }
+
+    MapSqlParameterSource params() {
+        return params;
+    }
+}
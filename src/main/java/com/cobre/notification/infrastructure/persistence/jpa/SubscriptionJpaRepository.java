@@ -0,0 +1,13 @@
+package com.cobre.notification.infrastructure.persistence.jpa;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+import java.util.UUID;
+
+@Repository
+public interface SubscriptionJpaRepository extends JpaRepository<WebhookSubscriptionEntity, UUID> {
+
+    List<WebhookSubscriptionEntity> findByClientId(String clientId);
+}
@@ -0,0 +1,47 @@
+package com.cobre.notification.infrastructure.persistence.jpa;
+
+import jakarta.persistence.*;
+import lombok.Getter;
+import lombok.Setter;
+
+import java.time.Instant;
+import java.util.UUID;
+
+@Setter
+@Getter
+@Entity
+@Table(name = "webhook_subscriptions", indexes = {
+        @Index(name = "idx_subscription_client_event", columnList = "client_id, event_type")
+})
+public class WebhookSubscriptionEntity {
+
+    @Id
+    private UUID id;
+
+    @Column(name = "client_id", nullable = false, length = 100)
+    private String clientId;
+
+    @Column(name = "event_type", nullable = false, length = 100)
+    private String eventType;
+
+    @Column(name = "webhook_url", nullable = false, length = 500)
+    private String webhookUrl;
+
+    @Column(name = "secret_key", nullable = false)
+    private String secretKey;
+
+    @Column(name = "is_active")
+    private Boolean active;
+
+    @Column(name = "created_at", nullable = false)
+    private Instant createdAt;
+
+    @Column(name = "rate_limit_per_second")
+    private Integer rateLimitPerSecond;
+
+    @Column(name = "batch_max_events")
+    private Integer batchMaxEvents;
+
+    @Column(name = "batch_max_wait_ms")
+    private Integer batchMaxWaitMs;
+}
@@ -0,0 +1,94 @@
+package com.cobre.notification.infrastructure.persistence.outbox;
+
+import com.cobre.notification.domain.model.OutboxEntry;
+import com.cobre.notification.domain.model.PendingDelivery;
+import com.cobre.notification.domain.port.out.DeliveryOutbox;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Collection;
+import java.util.List;
+import java.util.UUID;
+
+@Component
+public class JdbcDeliveryOutbox implements DeliveryOutbox {
+
+    private static final String INSERT_SQL =
+            "INSERT INTO delivery_outbox (notification_id, client_id) VALUES (:notificationId, :clientId)";
+
+    // Same lease scheme as retry claims: locked rows are skipped, expired leases are claimable again
+    private static final String CLAIM_SQL =
+            "UPDATE delivery_outbox SET lease_owner = :nodeId, lease_expires_at = :leaseExpiresAt " +
+            "WHERE id IN (" +
+            "  SELECT id FROM delivery_outbox " +
+            "  WHERE lease_expires_at IS NULL OR lease_expires_at < :now " +
+            "  ORDER BY id " +
+            "  LIMIT :limit " +
+            "  FOR UPDATE SKIP LOCKED" +
+            ") RETURNING id, notification_id, client_id";
+
+    private static final String EXTEND_LEASES_SQL =
+            "UPDATE delivery_outbox SET lease_expires_at = :leaseExpiresAt " +
+            "WHERE id IN (:ids) AND lease_owner = :nodeId";
+
+    private static final String DELETE_SQL = "DELETE FROM delivery_outbox WHERE id IN (:ids)";
+
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+
+    public JdbcDeliveryOutbox(NamedParameterJdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    @Override
+    public void enqueue(List<PendingDelivery> deliveries) {
+        if (deliveries.isEmpty()) {
+            return;
+        }
+        MapSqlParameterSource[] batch = deliveries.stream()
+                .map(delivery -> new MapSqlParameterSource()
+                        .addValue("notificationId", delivery.notificationId())
+                        .addValue("clientId", delivery.clientId()))
+                .toArray(MapSqlParameterSource[]::new);
+        jdbcTemplate.batchUpdate(INSERT_SQL, batch);
+    }
+
+    @Override
+    public List<OutboxEntry> claim(String nodeId, int limit, Duration leaseDuration) {
+        Instant now = Instant.now();
+        MapSqlParameterSource params = new MapSqlParameterSource()
+                .addValue("nodeId", nodeId)
+                .addValue("now", Timestamp.from(now))
+                .addValue("leaseExpiresAt", Timestamp.from(now.plus(leaseDuration)))
+                .addValue("limit", limit);
+        List<OutboxEntry> entries = jdbcTemplate.query(CLAIM_SQL, params, (rs, rowNum) -> new OutboxEntry(
+                rs.getLong("id"),
+                rs.getObject("notification_id", UUID.class),
+                rs.getString("client_id")));
+        // RETURNING does not follow the subquery's order
+        entries.sort((a, b) -> Long.compare(a.id(), b.id()));
+        return entries;
+    }
+
+    @Override
+    public void extendLeases(String nodeId, Collection<Long> ids, Duration leaseDuration) {
+        if (ids.isEmpty()) {
+            return;
+        }
+        jdbcTemplate.update(EXTEND_LEASES_SQL, new MapSqlParameterSource()
+                .addValue("nodeId", nodeId)
+                .addValue("ids", ids)
+                .addValue("leaseExpiresAt", Timestamp.from(Instant.now().plus(leaseDuration))));
+    }
+
+    @Override
+    public void remove(Collection<Long> ids) {
+        if (ids.isEmpty()) {
+            return;
+        }
+        jdbcTemplate.update(DELETE_SQL, new MapSqlParameterSource("ids", ids));
+    }
+}
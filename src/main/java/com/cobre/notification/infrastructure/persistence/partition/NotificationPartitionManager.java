@@ -0,0 +1,123 @@
+package com.cobre.notification.infrastructure.persistence.partition;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+import java.util.List;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Keeps the monthly partitions of notification_events ahead of time and applies the retention
+ * policy to old ones. Expired partitions are detached (kept as standalone tables for archiving)
+ * or dropped. Runs under an advisory lock so only one node does the work.
+ */
+@Component
+public class NotificationPartitionManager {
+
+    private static final Logger logger = LoggerFactory.getLogger(NotificationPartitionManager.class);
+    private static final String PARENT = "notification_events";
+    private static final Pattern PARTITION_NAME = Pattern.compile(PARENT + "_p(\\d{6})");
+    private static final DateTimeFormatter SUFFIX = DateTimeFormatter.ofPattern("yyyyMM");
+    private static final long ADVISORY_LOCK_KEY = 0x6e6f7469666963L;
+
+    private static final String LIST_PARTITIONS_SQL =
+            "SELECT c.relname FROM pg_inherits i " +
+            "JOIN pg_class c ON c.oid = i.inhrelid " +
+            "JOIN pg_class p ON p.oid = i.inhparent " +
+            "WHERE p.relname = '" + PARENT + "'";
+
+    // Recently seen payloads are kept: an insert referencing one may not have committed yet
+    private static final String DELETE_ORPHAN_PAYLOADS_SQL =
+            "DELETE FROM event_payloads p " +
+            "WHERE p.last_seen_at < now() - INTERVAL '1 day' " +
+            "AND NOT EXISTS (SELECT 1 FROM " + PARENT + " n WHERE n.payload_hash = p.hash)";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final int premakeMonths;
+    private final int retentionMonths;
+    private final boolean dropExpired;
+
+    public NotificationPartitionManager(JdbcTemplate jdbcTemplate,
+                                        @Value("${webhook.partitions.premake-months:3}") int premakeMonths,
+                                        @Value("${webhook.partitions.retention-months:0}") int retentionMonths,
+                                        @Value("${webhook.partitions.retention-action:detach}") String retentionAction) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.premakeMonths = premakeMonths;
+        this.retentionMonths = retentionMonths;
+        this.dropExpired = "drop".equalsIgnoreCase(retentionAction);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(cron = "${webhook.partitions.cron:0 0 3 * * *}")
+    @Transactional
+    public void maintain() {
+        Boolean locked = jdbcTemplate.queryForObject(
+                "SELECT pg_try_advisory_xact_lock(?)", Boolean.class, ADVISORY_LOCK_KEY);
+        if (!Boolean.TRUE.equals(locked)) {
+            logger.debug("Partition maintenance already running on another node");
+            return;
+        }
+
+        YearMonth current = YearMonth.now(ZoneOffset.UTC);
+        for (int i = 0; i <= premakeMonths; i++) {
+            createPartition(current.plusMonths(i));
+        }
+
+        if (retentionMonths > 0) {
+            YearMonth oldestKept = current.minusMonths(retentionMonths);
+            boolean expired = false;
+            for (String partition : listPartitions()) {
+                Matcher matcher = PARTITION_NAME.matcher(partition);
+                if (matcher.matches() && YearMonth.parse(matcher.group(1), SUFFIX).isBefore(oldestKept)) {
+                    expirePartition(partition);
+                    expired = true;
+                }
+            }
+            // Detached partitions still point at their payloads, so only a drop frees them
+            if (expired && dropExpired) {
+                int removed = jdbcTemplate.update(DELETE_ORPHAN_PAYLOADS_SQL);
+                logger.info("Removed {} payloads no longer referenced by any event", removed);
+            }
+        }
+
+        Integer stray = jdbcTemplate.queryForObject(
+                "SELECT count(*) FROM (SELECT 1 FROM " + PARENT + "_default LIMIT 1) d", Integer.class);
+        if (stray != null && stray > 0) {
+            logger.warn("Rows found in {}_default; they fall outside all monthly partitions", PARENT);
+        }
+    }
+
+    private void createPartition(YearMonth month) {
+        LocalDate from = month.atDay(1);
+        LocalDate to = month.plusMonths(1).atDay(1);
+        jdbcTemplate.execute(String.format(
+                "CREATE TABLE IF NOT EXISTS %s_p%s PARTITION OF %s FOR VALUES FROM ('%s') TO ('%s')",
+                PARENT, month.format(SUFFIX), PARENT, from, to));
+    }
+
+    private void expirePartition(String partition) {
+        jdbcTemplate.execute("ALTER TABLE " + PARENT + " DETACH PARTITION " + partition);
+        if (dropExpired) {
+            jdbcTemplate.execute("DROP TABLE " + partition);
+            logger.info("Dropped expired partition {}", partition);
+        } else {
+            logger.info("Detached expired partition {}", partition);
+        }
+    }
+
+    private List<String> listPartitions() {
+        return jdbcTemplate.queryForList(LIST_PARTITIONS_SQL, String.class);
+    }
+}
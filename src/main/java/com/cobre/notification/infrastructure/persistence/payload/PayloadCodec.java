@@ -0,0 +1,79 @@
+package com.cobre.notification.infrastructure.persistence.payload;
+
+import com.cobre.notification.domain.model.EventPayload;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Stored form of event payloads: content hash for deduplication and optional gzip compression.
+ */
+public final class PayloadCodec {
+
+    public static final String IDENTITY = "identity";
+    public static final String GZIP = "gzip";
+
+    private PayloadCodec() {
+    }
+
+    public static byte[] hash(byte[] raw) {
+        try {
+            return MessageDigest.getInstance("SHA-256").digest(raw);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+
+    /**
+     * Gzips payloads of at least {@code threshold} bytes, keeping the raw bytes when that does not
+     * make them smaller.
+     */
+    public static Encoded encode(byte[] raw, boolean compress, int threshold) {
+        if (compress && raw.length >= threshold) {
+            byte[] compressed = gzip(raw);
+            if (compressed.length < raw.length) {
+                return new Encoded(GZIP, compressed);
+            }
+        }
+        return new Encoded(IDENTITY, raw);
+    }
+
+    public static EventPayload decodeLazily(String encoding, byte[] data) {
+        return EventPayload.lazy(() -> decode(encoding, data));
+    }
+
+    public static byte[] decode(String encoding, byte[] data) {
+        return switch (encoding) {
+            case IDENTITY -> data;
+            case GZIP -> gunzip(data);
+            default -> throw new IllegalStateException("Unknown payload encoding: " + encoding);
+        };
+    }
+
+    private static byte[] gzip(byte[] raw) {
+        ByteArrayOutputStream out = new ByteArrayOutputStream(raw.length / 4 + 64);
+        try (GZIPOutputStream gzip = new GZIPOutputStream(out)) {
+            gzip.write(raw);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return out.toByteArray();
+    }
+
+    private static byte[] gunzip(byte[] data) {
+        try (GZIPInputStream gzip = new GZIPInputStream(new ByteArrayInputStream(data))) {
+            return gzip.readAllBytes();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    public record Encoded(String encoding, byte[] data) {
+    }
+}
@@ -0,0 +1,64 @@
+package com.cobre.notification.infrastructure.persistence.payload;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Content-addressed payload table. Each distinct payload is stored once, keyed by its SHA-256,
+ * and events reference it by hash.
+ */
+@Component
+public class PayloadStore {
+
+    // Touching last_seen_at at most hourly keeps hot payloads from being rewritten on every event,
+    // while the conflict still locks the row so orphan cleanup cannot delete it under us
+    private static final String UPSERT_SQL =
+            "INSERT INTO event_payloads (hash, encoding, data, original_size, last_seen_at) " +
+            "VALUES (:hash, :encoding, :data, :originalSize, now()) " +
+            "ON CONFLICT (hash) DO UPDATE SET last_seen_at = EXCLUDED.last_seen_at " +
+            "WHERE event_payloads.last_seen_at < EXCLUDED.last_seen_at - INTERVAL '1 hour'";
+
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+    private final boolean compress;
+    private final int compressionThreshold;
+
+    public PayloadStore(NamedParameterJdbcTemplate jdbcTemplate,
+                        @Value("${webhook.payloads.compression:gzip}") String compression,
+                        @Value("${webhook.payloads.compression-threshold:1024}") int compressionThreshold) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.compress = PayloadCodec.GZIP.equalsIgnoreCase(compression);
+        this.compressionThreshold = compressionThreshold;
+    }
+
+    /**
+     * Stores the payloads that are not stored yet, in the caller's transaction, and returns
+     * each payload's hash in the same order.
+     */
+    public List<byte[]> storeAll(List<byte[]> payloads) {
+        List<byte[]> hashes = new ArrayList<>(payloads.size());
+        // Sorted by hash so concurrent batches lock existing rows in the same order
+        Map<String, MapSqlParameterSource> distinct = new TreeMap<>();
+        for (byte[] raw : payloads) {
+            byte[] hash = PayloadCodec.hash(raw);
+            hashes.add(hash);
+            distinct.computeIfAbsent(HexFormat.of().formatHex(hash), key -> {
+                PayloadCodec.Encoded encoded = PayloadCodec.encode(raw, compress, compressionThreshold);
+                return new MapSqlParameterSource()
+                        .addValue("hash", hash)
+                        .addValue("encoding", encoded.encoding())
+                        .addValue("data", encoded.data())
+                        .addValue("originalSize", raw.length);
+            });
+        }
+        jdbcTemplate.batchUpdate(UPSERT_SQL, distinct.values().toArray(MapSqlParameterSource[]::new));
+        return hashes;
+    }
+}
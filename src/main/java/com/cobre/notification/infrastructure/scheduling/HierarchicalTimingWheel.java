@@ -0,0 +1,140 @@
+package com.cobre.notification.infrastructure.scheduling;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Hierarchical timing wheel (Varghese &amp; Lauck). Level {@code n} has {@code wheelSize} slots
+ * of {@code wheelSize^n} ticks each; entries are cascaded down one level whenever the clock
+ * enters their slot, so insertion and expiry are O(1) regardless of how many entries are held.
+ */
+public class HierarchicalTimingWheel<T> {
+
+    private final long tickMillis;
+    private final int wheelSize;
+    private final int levels;
+    private final long[] slotSpans;
+    private final ArrayDeque<Entry<T>>[][] slots;
+    private final ArrayDeque<Entry<T>> ready = new ArrayDeque<>();
+    private final ArrayDeque<Entry<T>> overflow = new ArrayDeque<>();
+
+    private long currentTick;
+    private int size;
+
+    public HierarchicalTimingWheel(Duration tick, int wheelSize, int levels, Instant start) {
+        this.tickMillis = tick.toMillis();
+        this.wheelSize = wheelSize;
+        this.levels = levels;
+        this.slotSpans = new long[levels];
+        this.slots = newSlots(levels, wheelSize);
+
+        long span = 1;
+        for (int level = 0; level < levels; level++) {
+            slotSpans[level] = span;
+            span *= wheelSize;
+        }
+        this.currentTick = toTick(start);
+    }
+
+    // Generic arrays cannot be created directly; the slots only ever hold Entry<T>
+    @SuppressWarnings("unchecked")
+    private static <T> ArrayDeque<Entry<T>>[][] newSlots(int levels, int wheelSize) {
+        return (ArrayDeque<Entry<T>>[][]) new ArrayDeque<?>[levels][wheelSize];
+    }
+
+    public synchronized void add(T item, Instant dueAt) {
+        // Round up so an entry is never reported before its due instant
+        long dueMillis = dueAt.toEpochMilli();
+        place(new Entry<>(item, Math.floorDiv(dueMillis + tickMillis - 1, tickMillis)));
+        size++;
+    }
+
+    /**
+     * Moves the clock forward to {@code now} and returns every entry that became due.
+     */
+    public synchronized List<T> advance(Instant now) {
+        long targetTick = toTick(now);
+        List<T> due = new ArrayList<>();
+
+        while (currentTick < targetTick) {
+            currentTick++;
+            cascade();
+            drain(slots[0][slotIndex(0)], due);
+        }
+        drain(ready, due);
+
+        return due;
+    }
+
+    public synchronized int size() {
+        return size;
+    }
+
+    private void cascade() {
+        int top = levels - 1;
+        if (currentTick % slotSpans[top] == 0 && !overflow.isEmpty()) {
+            List<Entry<T>> pending = new ArrayList<>(overflow);
+            overflow.clear();
+            pending.forEach(this::place);
+        }
+
+        for (int level = top; level >= 1; level--) {
+            if (currentTick % slotSpans[level] != 0) {
+                continue;
+            }
+            ArrayDeque<Entry<T>> bucket = slots[level][slotIndex(level)];
+            if (bucket == null || bucket.isEmpty()) {
+                continue;
+            }
+            List<Entry<T>> pending = new ArrayList<>(bucket);
+            bucket.clear();
+            pending.forEach(this::place);
+        }
+    }
+
+    private void place(Entry<T> entry) {
+        if (entry.dueTick <= currentTick) {
+            ready.add(entry);
+            return;
+        }
+
+        for (int level = 0; level < levels; level++) {
+            long dueSlot = entry.dueTick / slotSpans[level];
+            if (dueSlot - currentTick / slotSpans[level] < wheelSize) {
+                int index = (int) (dueSlot % wheelSize);
+                if (slots[level][index] == null) {
+                    slots[level][index] = new ArrayDeque<>();
+                }
+                slots[level][index].add(entry);
+                return;
+            }
+        }
+
+        overflow.add(entry);
+    }
+
+    private void drain(ArrayDeque<Entry<T>> bucket, List<T> due) {
+        if (bucket == null) {
+            return;
+        }
+        Entry<T> entry;
+        while ((entry = bucket.poll()) != null) {
+            due.add(entry.item);
+            size--;
+        }
+    }
+
+    private int slotIndex(int level) {
+        return (int) ((currentTick / slotSpans[level]) % wheelSize);
+    }
+
+    private long toTick(Instant instant) {
+        return Math.floorDiv(instant.toEpochMilli(), tickMillis);
+    }
+
+    private record Entry<T>(T item, long dueTick) {
+    }
+}
@@ -0,0 +1,152 @@
+package com.cobre.notification.infrastructure.scheduling;
+
+import com.cobre.notification.domain.model.PendingDelivery;
+import com.cobre.notification.domain.model.ScheduledRetry;
+import com.cobre.notification.domain.port.in.DispatchDeliveryUseCase;
+import com.cobre.notification.domain.port.out.NotificationRepository;
+import com.cobre.notification.domain.port.out.RetryScheduler;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.annotation.Lazy;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+@Component
+public class TimingWheelRetryScheduler implements RetryScheduler {
+
+    private static final Logger logger = LoggerFactory.getLogger(TimingWheelRetryScheduler.class);
+    private static final int REBUILD_PAGE_SIZE = 1000;
+
+    // 1s ticks, 64 slots per level, 4 levels: ~194 days before entries spill into overflow
+    private final HierarchicalTimingWheel<UUID> wheel =
+            new HierarchicalTimingWheel<>(Duration.ofSeconds(1), 64, 4, Instant.now());
+
+    private final NotificationRepository notificationRepository;
+    private final DispatchDeliveryUseCase dispatchUseCase;
+    private final String nodeId;
+    private final int claimBatchSize;
+    private final int maxInFlight;
+    private final Duration leaseDuration;
+
+    // Claimed retries whose delivery has not finished yet; their leases are renewed until it does
+    private final Set<UUID> inFlight = ConcurrentHashMap.newKeySet();
+    private volatile boolean claimsDeferred;
+    private Instant nextRenewal = Instant.MIN;
+
+    public TimingWheelRetryScheduler(NotificationRepository notificationRepository,
+                                     @Lazy DispatchDeliveryUseCase dispatchUseCase,
+                                     MeterRegistry meterRegistry,
+                                     @Value("${webhook.retry.node-id}") String nodeId,
+                                     @Value("${webhook.retry.claim-batch-size:500}") int claimBatchSize,
+                                     @Value("${webhook.retry.max-in-flight:2000}") int maxInFlight,
+                                     @Value("${webhook.retry.lease-duration:2m}") Duration leaseDuration) {
+        this.notificationRepository = notificationRepository;
+        this.dispatchUseCase = dispatchUseCase;
+        this.nodeId = nodeId;
+        this.claimBatchSize = claimBatchSize;
+        this.maxInFlight = maxInFlight;
+        this.leaseDuration = leaseDuration;
+
+        Gauge.builder("webhook.retry.scheduled", wheel, HierarchicalTimingWheel::size)
+                .description("Number of notifications waiting in the retry timing wheel")
+                .register(meterRegistry);
+    }
+
+    @Override
+    public void schedule(UUID notificationId, Instant dueAt) {
+        wheel.add(notificationId, dueAt);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuild() {
+        int restored = 0;
+        List<ScheduledRetry> page;
+        ScheduledRetry last = null;
+
+        do {
+            page = notificationRepository.findScheduledRetries(last, REBUILD_PAGE_SIZE);
+            for (ScheduledRetry retry : page) {
+                wheel.add(retry.notificationId(), retry.nextAttemptAt());
+            }
+            restored += page.size();
+            if (!page.isEmpty()) {
+                last = page.get(page.size() - 1);
+            }
+        } while (page.size() == REBUILD_PAGE_SIZE);
+
+        logger.info("Restored {} pending retries into the timing wheel", restored);
+    }
+
+    /**
+     * The wheel only signals that local work is due; rows are handed out through
+     * {@link NotificationRepository#claimDueRetries} so no two nodes deliver the same retry.
+     */
+    @Scheduled(fixedDelayString = "${webhook.retry.tick-interval:1000}")
+    public void dispatchDueRetries() {
+        renewLeases();
+        // Retries that came due while claims were capped are still waiting in the table
+        if (!wheel.advance(Instant.now()).isEmpty() || claimsDeferred) {
+            claimAndDispatch();
+        }
+    }
+
+    // Picks up retries scheduled by nodes that went away and leases that expired mid-flight
+    @Scheduled(fixedDelayString = "${webhook.retry.sweep-interval:30000}")
+    public void sweepDueRetries() {
+        claimAndDispatch();
+    }
+
+    // Claims only as many as may be in flight, so no claimed retry sits queued long enough to lose its lease
+    private synchronized void claimAndDispatch() {
+        int limit;
+        List<PendingDelivery> claimed;
+        do {
+            limit = Math.min(claimBatchSize, maxInFlight - inFlight.size());
+            claimsDeferred = limit <= 0;
+            if (claimsDeferred) {
+                return;
+            }
+            claimed = notificationRepository.claimDueRetries(nodeId, limit, leaseDuration);
+            if (claimed.isEmpty()) {
+                return;
+            }
+
+            logger.info("Claimed {} due retries", claimed.size());
+            for (PendingDelivery delivery : claimed) {
+                dispatch(delivery);
+            }
+        } while (claimed.size() == limit);
+    }
+
+    private void dispatch(PendingDelivery delivery) {
+        inFlight.add(delivery.notificationId());
+        dispatchUseCase.dispatch(delivery.clientId(), delivery.notificationId())
+                .whenComplete((ignored, error) -> inFlight.remove(delivery.notificationId()));
+    }
+
+    // Renews at half the lease, so a lease never runs out while its retry is in flight
+    private void renewLeases() {
+        Instant now = Instant.now();
+        if (now.isBefore(nextRenewal)) {
+            return;
+        }
+        List<UUID> ids = new ArrayList<>(inFlight);
+        if (!ids.isEmpty()) {
+            notificationRepository.extendRetryLeases(nodeId, ids, leaseDuration);
+        }
+        nextRenewal = now.plus(leaseDuration.dividedBy(2));
+    }
+}
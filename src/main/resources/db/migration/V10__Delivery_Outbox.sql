@@ -0,0 +1,14 @@
+-- Deliveries to hand to the dispatcher, written in the same transaction as the event change
+-- so nothing is dispatched before it is committed and nothing committed is lost
+CREATE TABLE delivery_outbox (
+    id BIGSERIAL PRIMARY KEY,
+    notification_id UUID NOT NULL,
+    client_id VARCHAR(100) NOT NULL,
+    created_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    lease_owner VARCHAR(100),
+    lease_expires_at TIMESTAMP
+);
+
+COMMENT ON TABLE delivery_outbox IS 'Committed deliveries waiting to be dispatched; removed once dispatched';
+COMMENT ON COLUMN delivery_outbox.lease_owner IS 'Node currently dispatching this entry';
+COMMENT ON COLUMN delivery_outbox.lease_expires_at IS 'After this instant the entry may be claimed by another node';
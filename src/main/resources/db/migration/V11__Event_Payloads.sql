@@ -0,0 +1,23 @@
+-- Payloads stored once per distinct content, optionally gzip-compressed, and referenced by hash
+CREATE TABLE event_payloads (
+    hash BYTEA PRIMARY KEY,
+    encoding VARCHAR(10) NOT NULL,
+    data BYTEA NOT NULL,
+    original_size INTEGER NOT NULL,
+    last_seen_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP
+);
+
+-- Data is compressed by us already; keep TOAST from trying again
+ALTER TABLE event_payloads ALTER COLUMN data SET STORAGE EXTERNAL;
+
+-- New events reference a payload; event_data stays for events written before this migration
+ALTER TABLE notification_events ADD COLUMN payload_hash BYTEA;
+ALTER TABLE notification_events ALTER COLUMN event_data DROP NOT NULL;
+
+-- Orphan cleanup looks up references by hash
+CREATE INDEX idx_payload_hash ON notification_events(payload_hash) WHERE payload_hash IS NOT NULL;
+
+COMMENT ON TABLE event_payloads IS 'Deduplicated event payloads keyed by SHA-256 of the uncompressed JSON';
+COMMENT ON COLUMN event_payloads.encoding IS 'identity or gzip';
+COMMENT ON COLUMN event_payloads.last_seen_at IS 'Last time an event referenced this payload, refreshed at most hourly';
+COMMENT ON COLUMN notification_events.payload_hash IS 'event_payloads.hash; event_data is NULL when set';
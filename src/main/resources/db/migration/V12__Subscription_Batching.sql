@@ -0,0 +1,6 @@
+-- Opt-in batched delivery: several events per request as one JSON array
+ALTER TABLE webhook_subscriptions ADD COLUMN batch_max_events INTEGER;
+ALTER TABLE webhook_subscriptions ADD COLUMN batch_max_wait_ms INTEGER;
+
+COMMENT ON COLUMN webhook_subscriptions.batch_max_events IS 'Max events per webhook request; NULL or 1 sends one event per request';
+COMMENT ON COLUMN webhook_subscriptions.batch_max_wait_ms IS 'Max time an event waits for its batch to fill; NULL uses the service default';
@@ -0,0 +1,6 @@
+-- Retry rebuild pages RETRYING rows by (next_attempt_at, id); claims still range-scan the leading column
+DROP INDEX idx_retry_due;
+CREATE INDEX idx_retry_due ON notification_events(next_attempt_at, id) WHERE delivery_status = 'RETRYING';
+
+-- Only the old offset-paged rebuild read this one
+DROP INDEX idx_retrying_last_attempt;
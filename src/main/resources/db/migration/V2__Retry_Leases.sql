@@ -0,0 +1,23 @@
+-- Track when a retry becomes due and which node currently holds it
+ALTER TABLE notification_events ADD COLUMN next_attempt_at TIMESTAMP;
+ALTER TABLE notification_events ADD COLUMN lease_owner VARCHAR(100);
+ALTER TABLE notification_events ADD COLUMN lease_expires_at TIMESTAMP;
+
+-- Backfill due times for events already in backoff (60s, 300s, 900s, 3600s, 14400s, 43200s)
+UPDATE notification_events
+SET next_attempt_at = last_attempt_at + make_interval(secs =>
+        CASE LEAST(delivery_attempts, 5)
+            WHEN 0 THEN 60
+            WHEN 1 THEN 300
+            WHEN 2 THEN 900
+            WHEN 3 THEN 3600
+            WHEN 4 THEN 14400
+            ELSE 43200
+        END)
+WHERE delivery_status = 'RETRYING';
+
+-- Claim queries only ever look at due retries
+CREATE INDEX idx_retry_due ON notification_events(next_attempt_at) WHERE delivery_status = 'RETRYING';
+
+COMMENT ON COLUMN notification_events.lease_owner IS 'Node currently delivering this retry';
+COMMENT ON COLUMN notification_events.lease_expires_at IS 'After this instant the retry may be claimed by another node';
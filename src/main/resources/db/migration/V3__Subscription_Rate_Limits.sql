@@ -0,0 +1,4 @@
+-- Optional per-subscription request rate towards the webhook endpoint
+ALTER TABLE webhook_subscriptions ADD COLUMN rate_limit_per_second INTEGER;
+
+COMMENT ON COLUMN webhook_subscriptions.rate_limit_per_second IS 'Max webhook requests per second; NULL uses the service default';
@@ -0,0 +1,27 @@
+-- Publish subscription changes so every node can evict its cached copy
+CREATE OR REPLACE FUNCTION notify_subscription_change() RETURNS trigger AS $$
+DECLARE
+    changed webhook_subscriptions%ROWTYPE;
+BEGIN
+    IF TG_OP = 'DELETE' THEN
+        changed := OLD;
+    ELSE
+        changed := NEW;
+    END IF;
+
+    PERFORM pg_notify('subscription_changes',
+            json_build_object('clientId', changed.client_id, 'eventType', changed.event_type)::text);
+
+    -- A key change must also evict the entry cached under the old key
+    IF TG_OP = 'UPDATE' AND (OLD.client_id, OLD.event_type) IS DISTINCT FROM (NEW.client_id, NEW.event_type) THEN
+        PERFORM pg_notify('subscription_changes',
+                json_build_object('clientId', OLD.client_id, 'eventType', OLD.event_type)::text);
+    END IF;
+
+    RETURN NULL;
+END;
+$$ LANGUAGE plpgsql;
+
+CREATE TRIGGER trg_subscription_change
+    AFTER INSERT OR UPDATE OR DELETE ON webhook_subscriptions
+    FOR EACH ROW EXECUTE FUNCTION notify_subscription_change();
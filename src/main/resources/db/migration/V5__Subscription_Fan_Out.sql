@@ -0,0 +1,30 @@
+-- Several endpoints per client and event type; event_type is now a pattern ('*' one segment, '#' any)
+ALTER TABLE webhook_subscriptions DROP CONSTRAINT IF EXISTS webhook_subscriptions_client_id_event_type_key;
+
+-- Which subscription a delivery was fanned out to; NULL for events created before fan-out
+ALTER TABLE notification_events ADD COLUMN subscription_id UUID;
+
+COMMENT ON COLUMN webhook_subscriptions.event_type IS 'Dotted event type pattern; * matches one segment, # matches zero or more';
+
+-- The cache is now keyed by client and subscription id rather than (client, event type)
+CREATE OR REPLACE FUNCTION notify_subscription_change() RETURNS trigger AS $$
+DECLARE
+    changed webhook_subscriptions%ROWTYPE;
+BEGIN
+    IF TG_OP = 'DELETE' THEN
+        changed := OLD;
+    ELSE
+        changed := NEW;
+    END IF;
+
+    PERFORM pg_notify('subscription_changes',
+            json_build_object('id', changed.id, 'clientId', changed.client_id)::text);
+
+    IF TG_OP = 'UPDATE' AND OLD.client_id IS DISTINCT FROM NEW.client_id THEN
+        PERFORM pg_notify('subscription_changes',
+                json_build_object('id', OLD.id, 'clientId', OLD.client_id)::text);
+    END IF;
+
+    RETURN NULL;
+END;
+$$ LANGUAGE plpgsql;
@@ -0,0 +1,4 @@
+-- Optimistic version for narrow delivery-state updates
+ALTER TABLE notification_events ADD COLUMN version BIGINT NOT NULL DEFAULT 0;
+
+COMMENT ON COLUMN notification_events.version IS 'Incremented on every delivery-state write; guards concurrent updates';
@@ -0,0 +1,5 @@
+-- Keyset pagination orders by (created_at, id); the id tie-breaker makes the cursor unique
+CREATE INDEX idx_client_created_id ON notification_events(client_id, created_at DESC, id DESC);
+
+-- Same leading columns, so the old index is redundant
+DROP INDEX idx_client_created;
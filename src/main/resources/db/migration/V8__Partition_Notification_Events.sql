@@ -0,0 +1,40 @@
+-- Range-partition notification_events by month of created_at.
+-- Existing rows are copied into monthly partitions; run during a maintenance window on large tables.
+ALTER TABLE notification_events RENAME TO notification_events_legacy;
+
+CREATE TABLE notification_events (
+    LIKE notification_events_legacy INCLUDING DEFAULTS INCLUDING COMMENTS
+) PARTITION BY RANGE (created_at);
+
+-- The partition key must be part of every unique constraint
+ALTER TABLE notification_events ADD PRIMARY KEY (id, created_at);
+
+-- Catches rows outside the managed months; the partition manager keeps it empty by creating months ahead
+CREATE TABLE notification_events_default PARTITION OF notification_events DEFAULT;
+
+-- One partition per month from the oldest existing event until three months ahead
+DO $$
+DECLARE
+    month_start DATE := date_trunc('month', COALESCE((SELECT min(created_at) FROM notification_events_legacy), now()));
+    last_month  DATE := date_trunc('month', now() + INTERVAL '3 months');
+BEGIN
+    WHILE month_start <= last_month LOOP
+        EXECUTE format('CREATE TABLE notification_events_p%s PARTITION OF notification_events FOR VALUES FROM (%L) TO (%L)',
+                       to_char(month_start, 'YYYYMM'), month_start, month_start + INTERVAL '1 month');
+        month_start := month_start + INTERVAL '1 month';
+    END LOOP;
+END $$;
+
+INSERT INTO notification_events SELECT * FROM notification_events_legacy;
+
+DROP TABLE notification_events_legacy;
+
+-- Partitioned indexes, created on every partition
+CREATE INDEX idx_client_created_id ON notification_events(client_id, created_at DESC, id DESC);
+CREATE INDEX idx_client_status ON notification_events(client_id, delivery_status);
+CREATE INDEX idx_status_attempt ON notification_events(delivery_status, last_attempt_at);
+CREATE INDEX idx_retry_due ON notification_events(next_attempt_at) WHERE delivery_status = 'RETRYING';
+-- Lookups and updates by id alone cannot prune, so each partition needs its own id index
+CREATE INDEX idx_event_id ON notification_events(id);
+
+COMMENT ON TABLE notification_events IS 'Stores all notification events and their delivery status, partitioned by month of created_at';
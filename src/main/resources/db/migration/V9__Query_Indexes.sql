@@ -0,0 +1,11 @@
+-- Status-filtered listings: equality on status, then the same order as the unfiltered listing,
+-- so status + date range + ORDER BY created_at DESC is one index range scan (and index-only for counts)
+CREATE INDEX idx_client_status_created ON notification_events(client_id, delivery_status, created_at DESC, id DESC);
+
+-- Superseded by the index above
+DROP INDEX idx_client_status;
+
+-- Retry rebuild scans only RETRYING rows by last attempt; a partial index stays small
+CREATE INDEX idx_retrying_last_attempt ON notification_events(last_attempt_at) WHERE delivery_status = 'RETRYING';
+
+DROP INDEX idx_status_attempt;
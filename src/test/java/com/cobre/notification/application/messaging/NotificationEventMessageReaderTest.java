@@ -0,0 +1,65 @@
+package com.cobre.notification.application.messaging;
+
+import com.cobre.notification.application.messaging.dto.NotificationEventMessage;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class NotificationEventMessageReaderTest {
+
+    private final NotificationEventMessageReader reader = new NotificationEventMessageReader();
+
+    @Test
+    void shouldSliceEventDataFromEnvelope() {
+        String payload = "{\"amount\": 100, \"tags\": [\"a\", \"b\\\"c\"], \"nested\": {\"x\": null}}";
+        NotificationEventMessage message = reader.read(record(
+                "{\"clientId\":\"client-1\",\"eventData\":" + payload + ",\"eventType\":\"payment.created\"}"));
+
+        assertEquals("client-1", message.getClientId());
+        assertEquals("payment.created", message.getEventType());
+        assertEquals(payload, new String(message.getEventData(), StandardCharsets.UTF_8));
+    }
+
+    @Test
+    void shouldKeepScalarEventData() {
+        NotificationEventMessage message = reader.read(record(
+                "{\"clientId\":\"client-1\",\"eventType\":\"ping\",\"eventData\":\"café\"}"));
+
+        assertEquals("\"café\"", new String(message.getEventData(), StandardCharsets.UTF_8));
+    }
+
+    @Test
+    void shouldDefaultMissingEventData() {
+        NotificationEventMessage message = reader.read(record(
+                "{\"clientId\":\"client-1\",\"eventType\":\"ping\",\"eventData\":null}"));
+
+        assertEquals("{}", new String(message.getEventData(), StandardCharsets.UTF_8));
+    }
+
+    @Test
+    void shouldUseWholeValueWhenHeadersPresent() {
+        ConsumerRecord<String, byte[]> record = record("{\"amount\": 100}");
+        record.headers().add(NotificationEventMessageReader.CLIENT_ID_HEADER, "client-1".getBytes(StandardCharsets.UTF_8));
+        record.headers().add(NotificationEventMessageReader.EVENT_TYPE_HEADER, "payment.created".getBytes(StandardCharsets.UTF_8));
+
+        NotificationEventMessage message = reader.read(record);
+
+        assertEquals("client-1", message.getClientId());
+        assertEquals("payment.created", message.getEventType());
+        assertSame(record.value(), message.getEventData());
+    }
+
+    @Test
+    void shouldRejectUnreadableRecords() {
+        assertNull(reader.read(record("not json")));
+        assertNull(reader.read(record("{\"clientId\":\"client-1\",\"eventData\":{}}")));
+        assertNull(reader.read(record("{\"clientId\":\"client-1\",\"eventType\":")));
+    }
+
+    private static ConsumerRecord<String, byte[]> record(String value) {
+        return new ConsumerRecord<>("notification-events", 0, 0L, null, value.getBytes(StandardCharsets.UTF_8));
+    }
+}
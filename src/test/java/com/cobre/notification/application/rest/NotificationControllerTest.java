@@ -0,0 +1,146 @@
+package com.cobre.notification.application.rest;
+
+import com.cobre.notification.application.rest.dto.NotificationEventResponse;
+import com.cobre.notification.domain.port.in.QueryNotificationUseCase;
+import com.cobre.notification.domain.port.in.ReplayNotificationUseCase;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.security.authentication.TestingAuthenticationToken;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.List;
+import java.util.UUID;
+import java.util.function.Consumer;
+import java.util.zip.GZIPInputStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doAnswer;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+
+@ExtendWith(MockitoExtension.class)
+class NotificationControllerTest {
+
+    @Mock
+    private QueryNotificationUseCase queryUseCase;
+
+    @Mock
+    private ReplayNotificationUseCase replayUseCase;
+
+    private final ObjectMapper objectMapper = Jackson2ObjectMapperBuilder.json().build();
+
+    private MockMvc mockMvc;
+
+    @BeforeEach
+    void setUp() {
+        mockMvc = MockMvcBuilders.standaloneSetup(
+                new NotificationController(queryUseCase, replayUseCase, objectMapper)).build();
+    }
+
+    @Test
+    void shouldExportOneJsonEventPerLine() throws Exception {
+        // Newlines inside a payload are escaped, so they cannot break the framing
+        List<NotificationEventResponse> events = List.of(
+                response("{\"amount\": 100}"),
+                response("{\"note\": \"first line\\nsecond line\"}"));
+        exporting(events);
+
+        MvcResult result = export(null);
+
+        assertEquals("application/x-ndjson", result.getResponse().getContentType());
+        assertNull(result.getResponse().getHeader(HttpHeaders.CONTENT_ENCODING));
+        assertLines(events, result.getResponse().getContentAsByteArray());
+    }
+
+    @Test
+    void shouldGzipExportWhenClientAcceptsIt() throws Exception {
+        List<NotificationEventResponse> events = List.of(response("{\"amount\": 100}"));
+        exporting(events);
+
+        MvcResult result = export("br, gzip;q=0.8");
+
+        assertEquals("gzip", result.getResponse().getHeader(HttpHeaders.CONTENT_ENCODING));
+        assertEquals(HttpHeaders.ACCEPT_ENCODING, result.getResponse().getHeader(HttpHeaders.VARY));
+        try (GZIPInputStream gunzip = new GZIPInputStream(
+                new ByteArrayInputStream(result.getResponse().getContentAsByteArray()))) {
+            assertLines(events, gunzip.readAllBytes());
+        }
+    }
+
+    @Test
+    void shouldNotGzipExportWhenClientRefusesIt() throws Exception {
+        List<NotificationEventResponse> events = List.of(response("{\"amount\": 100}"));
+        exporting(events);
+
+        MvcResult result = export("gzip;q=0, identity");
+
+        assertNull(result.getResponse().getHeader(HttpHeaders.CONTENT_ENCODING));
+        assertLines(events, result.getResponse().getContentAsByteArray());
+    }
+
+    @Test
+    void shouldHonorAcceptEncodingQualities() {
+        assertTrue(NotificationController.acceptsGzip("gzip"));
+        assertTrue(NotificationController.acceptsGzip("deflate, GZIP;Q=0.5"));
+        assertTrue(NotificationController.acceptsGzip("*"));
+        assertTrue(NotificationController.acceptsGzip("x-gzip"));
+
+        assertFalse(NotificationController.acceptsGzip(null));
+        assertFalse(NotificationController.acceptsGzip("deflate, br"));
+        assertFalse(NotificationController.acceptsGzip("gzip;q=0"));
+        assertFalse(NotificationController.acceptsGzip("gzip; q=0.000"));
+        assertFalse(NotificationController.acceptsGzip("*, gzip;q=0"));
+        assertFalse(NotificationController.acceptsGzip("*;q=0"));
+    }
+
+    private void exporting(List<NotificationEventResponse> events) {
+        doAnswer(invocation -> {
+            Consumer<NotificationEventResponse> consumer = invocation.getArgument(1);
+            events.forEach(consumer);
+            return null;
+        }).when(queryUseCase).exportEvents(any(), any());
+    }
+
+    private MvcResult export(String acceptEncoding) throws Exception {
+        MockHttpServletRequestBuilder builder = get("/api/v1/notification_events/export")
+                .principal(new TestingAuthenticationToken("client-123", null));
+        if (acceptEncoding != null) {
+            builder.header(HttpHeaders.ACCEPT_ENCODING, acceptEncoding);
+        }
+        MvcResult result = mockMvc.perform(builder).andExpect(request().asyncStarted()).andReturn();
+        // The body is written on the async thread; wait for it to finish
+        result.getAsyncResult(5000);
+        return result;
+    }
+
+    private void assertLines(List<NotificationEventResponse> events, byte[] body) throws IOException {
+        String ndjson = new String(body, StandardCharsets.UTF_8);
+        assertTrue(ndjson.endsWith("\n"), ndjson);
+        String[] lines = ndjson.split("\n");
+        assertEquals(events.size(), lines.length);
+        for (int i = 0; i < lines.length; i++) {
+            assertEquals(events.get(i).getId().toString(), objectMapper.readTree(lines[i]).get("id").asText());
+            assertEquals(events.get(i).getEventData(), objectMapper.readTree(lines[i]).get("eventData").asText());
+        }
+    }
+
+    private static NotificationEventResponse response(String eventData) {
+        return new NotificationEventResponse(UUID.randomUUID(), "client-123", "payment.completed", eventData,
+                Instant.now(), "https://webhook.test.com", "DELIVERED", 1, Instant.now(), Instant.now(),
+                null, 200);
+    }
+}
@@ -0,0 +1,26 @@
+package com.cobre.notification.domain.model;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Instant;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class EventCursorTest {
+
+    @Test
+    void shouldRoundTripThroughOpaqueToken() {
+        EventCursor cursor = new EventCursor(Instant.parse("2024-01-15T10:30:00.123456Z"), UUID.randomUUID());
+
+        String token = cursor.encode();
+
+        assertFalse(token.contains(cursor.id().toString()));
+        assertEquals(cursor, EventCursor.decode(token));
+    }
+
+    @Test
+    void shouldRejectMalformedToken() {
+        assertThrows(IllegalArgumentException.class, () -> EventCursor.decode("not-a-cursor"));
+    }
+}
@@ -3,6 +3,7 @@ package com.cobre.notification.domain.model;
 
 import org.junit.jupiter.api.Test;
 
+import java.time.Instant;
 import java.util.UUID;
 
 import static org.junit.jupiter.api.Assertions.*;
@@ -48,6 +49,19 @@ class NotificationEventTest {
         assertNotNull(event.getLastAttemptAt());
     }
 
+    @Test
+    void shouldScheduleNextAttemptAfterFailure() {
+        NotificationEvent event = createTestEvent();
+
+        event.markAsFailed("Connection timeout", 0);
+
+        assertEquals(event.getLastAttemptAt().plusSeconds(300), event.getNextAttemptAt());
+
+        event.markAsDelivered(200);
+
+        assertNull(event.getNextAttemptAt());
+    }
+
     @Test
     void shouldTransitionToFailedAfterMaxAttempts() {
         NotificationEvent event = createTestEvent();
@@ -58,6 +72,7 @@ class NotificationEventTest {
 
         assertEquals(DeliveryStatus.FAILED, event.getDeliveryStatus());
         assertEquals(7, event.getDeliveryAttempts());
+        assertNull(event.getNextAttemptAt());
         assertFalse(event.canRetry());
     }
 
@@ -88,6 +103,26 @@ class NotificationEventTest {
         assertNull(event.getErrorMessage());
     }
 
+    @Test
+    void shouldOnlyBeSendableWhenDueAndNotLeasedElsewhere() {
+        Instant now = Instant.now();
+
+        assertTrue(createTestEvent().isSendableBy("node-1", now));
+        assertTrue(retrying(now.minusSeconds(1), "node-1", now.plusSeconds(60)).isSendableBy("node-1", now));
+        assertTrue(retrying(now.minusSeconds(1), null, null).isSendableBy("node-1", now));
+        assertTrue(retrying(now.minusSeconds(1), "node-2", now.minusSeconds(1)).isSendableBy("node-1", now));
+
+        assertFalse(retrying(now.minusSeconds(1), "node-2", now.plusSeconds(60)).isSendableBy("node-1", now));
+        assertFalse(retrying(now.plusSeconds(60), null, null).isSendableBy("node-1", now));
+    }
+
+    private NotificationEvent retrying(Instant nextAttemptAt, String leaseOwner, Instant leaseExpiresAt) {
+        return new NotificationEvent(UUID.randomUUID(), "client-123", "test.event",
+                EventPayload.of("{\"data\": \"test\"}"), Instant.now(), "https://webhook.test.com", null,
+                DeliveryStatus.RETRYING, 1, Instant.now(), nextAttemptAt, null, "Error", 500, 1L,
+                leaseOwner, leaseExpiresAt);
+    }
+
     private NotificationEvent createTestEvent() {
         return new NotificationEvent(
                 UUID.randomUUID(), "client-123", "test.event",
@@ -0,0 +1,71 @@
+package com.cobre.notification.domain.model;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SubscriptionIndexTest {
+
+    @Test
+    void shouldMatchExactAndSingleSegmentWildcards() {
+        WebhookSubscription exact = subscription("payment.completed");
+        WebhookSubscription wildcard = subscription("payment.*");
+        SubscriptionIndex index = SubscriptionIndex.of(List.of(exact, wildcard, subscription("refund.*")));
+
+        assertEquals(List.of(exact, wildcard), index.match("payment.completed"));
+        assertTrue(index.match("payment.card.completed").isEmpty());
+        assertTrue(index.match("payment").isEmpty());
+    }
+
+    @Test
+    void shouldMatchZeroOrMoreSegmentsWithHash() {
+        WebhookSubscription hash = subscription("payment.#");
+        SubscriptionIndex index = SubscriptionIndex.of(List.of(hash));
+
+        assertEquals(List.of(hash), index.match("payment"));
+        assertEquals(List.of(hash), index.match("payment.completed"));
+        assertEquals(List.of(hash), index.match("payment.card.completed"));
+        assertTrue(index.match("refund.completed").isEmpty());
+    }
+
+    @Test
+    void shouldReturnEachSubscriptionOnceWhenReachableAlongSeveralPaths() {
+        WebhookSubscription everything = subscription("#.completed.#");
+        SubscriptionIndex index = SubscriptionIndex.of(List.of(everything));
+
+        assertEquals(List.of(everything), index.match("completed.completed.completed"));
+    }
+
+    @Test
+    void shouldSkipInactiveSubscriptions() {
+        WebhookSubscription inactive = subscription("payment.completed");
+        inactive.setActive(false);
+
+        SubscriptionIndex index = SubscriptionIndex.of(List.of(inactive));
+
+        assertTrue(index.isEmpty());
+        assertTrue(index.match("payment.completed").isEmpty());
+    }
+
+    @Test
+    void shouldAgreeWithSubscriptionPatternMatching() {
+        List<String> patterns = List.of("a.b", "a.*", "*.b", "#", "a.#", "#.b", "a.#.c", "*.*.*");
+        List<String> eventTypes = List.of("a", "a.b", "a.c", "x.b", "a.b.c", "a.x.y.c", "b");
+
+        for (String pattern : patterns) {
+            WebhookSubscription subscription = subscription(pattern);
+            SubscriptionIndex index = SubscriptionIndex.of(List.of(subscription));
+            for (String eventType : eventTypes) {
+                assertEquals(subscription.matchesEventType(eventType), !index.match(eventType).isEmpty(),
+                        pattern + " vs " + eventType);
+            }
+        }
+    }
+
+    private WebhookSubscription subscription(String eventType) {
+        return new WebhookSubscription(UUID.randomUUID(), "client-123", eventType, "https://webhook.test.com", "secret");
+    }
+}
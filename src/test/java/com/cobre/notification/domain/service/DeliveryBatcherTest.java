@@ -0,0 +1,91 @@
+package com.cobre.notification.domain.service;
+
+import com.cobre.notification.domain.model.NotificationEvent;
+import com.cobre.notification.domain.model.WebhookSubscription;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class DeliveryBatcherTest {
+
+    // Up to four events wait across all open batches
+    private final DeliveryBatcher batcher = new DeliveryBatcher(Duration.ofMinutes(1), 8, Runnable::run);
+    private final List<List<NotificationEvent>> sent = new CopyOnWriteArrayList<>();
+
+    @Test
+    void shouldBoundEventsWaitingAcrossBatchedSubscriptions() {
+        WebhookSubscription first = subscription(100, null);
+        WebhookSubscription second = subscription(100, null);
+
+        CompletableFuture<Void> firstDelivery = add(first);
+        add(first);
+        add(second);
+        assertTrue(sent.isEmpty());
+        assertFalse(firstDelivery.isDone());
+
+        // The fourth waiting event sends its own batch, even though neither is full
+        CompletableFuture<Void> secondDelivery = add(second);
+        assertEquals(1, sent.size());
+        assertEquals(2, sent.get(0).size());
+        assertTrue(secondDelivery.isDone());
+
+        add(first);
+        assertEquals(1, sent.size());
+        add(first);
+        assertEquals(2, sent.size());
+        assertEquals(4, sent.get(1).size());
+        assertTrue(firstDelivery.isDone());
+    }
+
+    @Test
+    void shouldSendBatchOnceFull() {
+        WebhookSubscription subscription = subscription(2, null);
+
+        add(subscription);
+        assertTrue(sent.isEmpty());
+        add(subscription);
+
+        assertEquals(1, sent.size());
+        assertEquals(2, sent.get(0).size());
+    }
+
+    @Test
+    void shouldStopCountingEventsSentAfterMaxWait() throws Exception {
+        WebhookSubscription timed = subscription(100, 10);
+        WebhookSubscription other = subscription(100, null);
+
+        add(timed);
+        add(timed);
+        CompletableFuture<Void> timedDelivery = add(timed);
+        timedDelivery.get(5, TimeUnit.SECONDS);
+        assertEquals(1, sent.size());
+
+        // The three sent by time no longer count against the cap
+        add(other);
+        add(other);
+        add(other);
+        assertEquals(1, sent.size());
+    }
+
+    private CompletableFuture<Void> add(WebhookSubscription subscription) {
+        NotificationEvent event = new NotificationEvent(UUID.randomUUID(), subscription.getClientId(),
+                subscription.getEventType(), "{}", subscription.getWebhookUrl(), subscription.getId());
+        return batcher.add(subscription, event, (s, events) -> {
+            sent.add(List.copyOf(events));
+            return CompletableFuture.completedFuture(null);
+        });
+    }
+
+    private static WebhookSubscription subscription(int maxEvents, Integer maxWaitMs) {
+        return new WebhookSubscription(UUID.randomUUID(), "client-123", "test.event",
+                "https://batch.test.com", "secret", true, Instant.now(), null, maxEvents, maxWaitMs);
+    }
+}
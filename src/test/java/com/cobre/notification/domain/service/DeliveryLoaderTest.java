@@ -0,0 +1,132 @@
+package com.cobre.notification.domain.service;
+
+import com.cobre.notification.domain.model.NotificationEvent;
+import com.cobre.notification.domain.port.out.NotificationRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class DeliveryLoaderTest {
+
+    @Mock
+    private NotificationRepository notificationRepository;
+
+    private DeliveryLoader loader;
+
+    @AfterEach
+    void tearDown() {
+        if (loader != null) {
+            loader.stop();
+        }
+    }
+
+    @Test
+    void shouldLoadRequestsQueuedDuringAReadInOneQuery() throws Exception {
+        NotificationEvent first = event();
+        NotificationEvent second = event();
+        NotificationEvent third = event();
+        UUID missing = UUID.randomUUID();
+        CountDownLatch release = blockLoadOf(first);
+        when(notificationRepository.findAllById(List.of(second.getId(), third.getId(), missing)))
+                .thenReturn(List.of(third, second));
+        loader = new DeliveryLoader(notificationRepository, new SimpleMeterRegistry(), 500, 10);
+        loader.start();
+
+        CompletableFuture<Optional<NotificationEvent>> firstLoaded = loader.load(first.getId());
+        verify(notificationRepository, timeout(5000)).findById(first.getId());
+        CompletableFuture<Optional<NotificationEvent>> secondLoaded = loader.load(second.getId());
+        CompletableFuture<Optional<NotificationEvent>> thirdLoaded = loader.load(third.getId());
+        CompletableFuture<Optional<NotificationEvent>> missingLoaded = loader.load(missing);
+        // A second request for the same row shares the query
+        CompletableFuture<Optional<NotificationEvent>> secondAgain = loader.load(second.getId());
+        release.countDown();
+
+        assertSame(first, firstLoaded.get(5, TimeUnit.SECONDS).orElseThrow());
+        assertSame(second, secondLoaded.get(5, TimeUnit.SECONDS).orElseThrow());
+        assertSame(third, thirdLoaded.get(5, TimeUnit.SECONDS).orElseThrow());
+        assertSame(second, secondAgain.get(5, TimeUnit.SECONDS).orElseThrow());
+        assertTrue(missingLoaded.get(5, TimeUnit.SECONDS).isEmpty());
+        verify(notificationRepository, times(1)).findAllById(anyCollection());
+    }
+
+    @Test
+    void shouldLoadOnCallerThreadWhenQueueIsFull() throws Exception {
+        NotificationEvent first = event();
+        NotificationEvent queued = event();
+        NotificationEvent overflow = event();
+        CountDownLatch release = blockLoadOf(first);
+        when(notificationRepository.findById(overflow.getId())).thenReturn(Optional.of(overflow));
+        when(notificationRepository.findById(queued.getId())).thenReturn(Optional.of(queued));
+        loader = new DeliveryLoader(notificationRepository, new SimpleMeterRegistry(), 500, 1);
+        loader.start();
+
+        CompletableFuture<Optional<NotificationEvent>> firstLoaded = loader.load(first.getId());
+        verify(notificationRepository, timeout(5000)).findById(first.getId());
+        CompletableFuture<Optional<NotificationEvent>> queuedLoaded = loader.load(queued.getId());
+        CompletableFuture<Optional<NotificationEvent>> overflowLoaded = loader.load(overflow.getId());
+
+        // The loader is still blocked, so only the caller can have completed it
+        assertTrue(overflowLoaded.isDone());
+        assertSame(overflow, overflowLoaded.join().orElseThrow());
+        assertFalse(queuedLoaded.isDone());
+
+        release.countDown();
+        assertSame(first, firstLoaded.get(5, TimeUnit.SECONDS).orElseThrow());
+        assertSame(queued, queuedLoaded.get(5, TimeUnit.SECONDS).orElseThrow());
+    }
+
+    @Test
+    void shouldResolveMissingNotificationToEmpty() {
+        UUID missing = UUID.randomUUID();
+        when(notificationRepository.findById(missing)).thenReturn(Optional.empty());
+        loader = new DeliveryLoader(notificationRepository, new SimpleMeterRegistry(), 500, 10);
+
+        assertTrue(loader.load(missing).join().isEmpty());
+    }
+
+    @Test
+    void shouldFailPendingLoadsOnErrorAndKeepLoading() throws Exception {
+        NotificationEvent event = event();
+        when(notificationRepository.findById(any()))
+                .thenThrow(new LinkageError("boom"))
+                .thenReturn(Optional.of(event));
+        loader = new DeliveryLoader(notificationRepository, new SimpleMeterRegistry(), 500, 10);
+        loader.start();
+
+        CompletableFuture<Optional<NotificationEvent>> failed = loader.load(UUID.randomUUID());
+        ExecutionException error = assertThrows(ExecutionException.class, () -> failed.get(5, TimeUnit.SECONDS));
+        assertInstanceOf(LinkageError.class, error.getCause());
+
+        assertSame(event, loader.load(event.getId()).get(5, TimeUnit.SECONDS).orElseThrow());
+    }
+
+    private CountDownLatch blockLoadOf(NotificationEvent event) {
+        CountDownLatch release = new CountDownLatch(1);
+        when(notificationRepository.findById(event.getId())).thenAnswer(invocation -> {
+            release.await();
+            return Optional.of(event);
+        });
+        return release;
+    }
+
+    private static NotificationEvent event() {
+        return new NotificationEvent(UUID.randomUUID(), "client-123", "payment.completed",
+                "{\"amount\": 100}", "https://webhook.test.com");
+    }
+}
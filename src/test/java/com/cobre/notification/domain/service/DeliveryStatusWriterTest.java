@@ -0,0 +1,104 @@
+package com.cobre.notification.domain.service;
+
+import com.cobre.notification.domain.model.NotificationEvent;
+import com.cobre.notification.domain.port.out.NotificationRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class DeliveryStatusWriterTest {
+
+    @Mock
+    private NotificationRepository notificationRepository;
+
+    private DeliveryStatusWriter writer;
+
+    @AfterEach
+    void tearDown() {
+        if (writer != null) {
+            writer.stop();
+        }
+    }
+
+    @Test
+    void shouldWriteOutcomesQueuedDuringAWriteAsOneBatch() throws Exception {
+        CountDownLatch writing = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        when(notificationRepository.recordAttempt(any(), anyLong(), any(), anyInt(), any(), any(), any(), any(), any()))
+                .thenAnswer(invocation -> {
+                    writing.countDown();
+                    release.await();
+                    return true;
+                });
+        NotificationEvent first = event();
+        NotificationEvent second = event();
+        NotificationEvent third = event();
+        NotificationEvent stale = event();
+        when(notificationRepository.updateStatusBatch(List.of(second, third, stale)))
+                .thenReturn(Set.of(second.getId(), third.getId()));
+        writer = new DeliveryStatusWriter(notificationRepository, new SimpleMeterRegistry(), 500, 10);
+        writer.start();
+
+        CompletableFuture<Boolean> firstWritten = writer.submit(first);
+        assertTrue(writing.await(5, TimeUnit.SECONDS));
+        CompletableFuture<Boolean> secondWritten = writer.submit(second);
+        CompletableFuture<Boolean> thirdWritten = writer.submit(third);
+        CompletableFuture<Boolean> staleWritten = writer.submit(stale);
+        release.countDown();
+
+        assertTrue(firstWritten.get(5, TimeUnit.SECONDS));
+        assertTrue(secondWritten.get(5, TimeUnit.SECONDS));
+        assertTrue(thirdWritten.get(5, TimeUnit.SECONDS));
+        // Changed concurrently, so the version guard dropped it
+        assertFalse(staleWritten.get(5, TimeUnit.SECONDS));
+        verify(notificationRepository, times(1)).updateStatusBatch(anyList());
+    }
+
+    @Test
+    void shouldWriteOnCallerThreadWhenNotRunning() {
+        when(notificationRepository.recordAttempt(any(), anyLong(), any(), anyInt(), any(), any(), any(), any(), any()))
+                .thenReturn(true);
+        writer = new DeliveryStatusWriter(notificationRepository, new SimpleMeterRegistry(), 500, 10);
+
+        CompletableFuture<Boolean> written = writer.submit(event());
+
+        assertTrue(written.isDone());
+        assertTrue(written.join());
+    }
+
+    @Test
+    void shouldFailPendingWritesOnErrorAndKeepWriting() throws Exception {
+        when(notificationRepository.recordAttempt(any(), anyLong(), any(), anyInt(), any(), any(), any(), any(), any()))
+                .thenThrow(new LinkageError("boom"))
+                .thenReturn(true);
+        writer = new DeliveryStatusWriter(notificationRepository, new SimpleMeterRegistry(), 500, 10);
+        writer.start();
+
+        CompletableFuture<Boolean> failed = writer.submit(event());
+        ExecutionException error = assertThrows(ExecutionException.class, () -> failed.get(5, TimeUnit.SECONDS));
+        assertInstanceOf(LinkageError.class, error.getCause());
+
+        assertTrue(writer.submit(event()).get(5, TimeUnit.SECONDS));
+    }
+
+    private static NotificationEvent event() {
+        return new NotificationEvent(UUID.randomUUID(), "client-123", "payment.completed",
+                "{\"amount\": 100}", "https://webhook.test.com");
+    }
+}
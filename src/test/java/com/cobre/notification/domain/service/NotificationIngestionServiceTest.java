@@ -0,0 +1,101 @@
+package com.cobre.notification.domain.service;
+
+import com.cobre.notification.application.messaging.dto.NotificationEventMessage;
+import com.cobre.notification.domain.model.SubscriptionIndex;
+import com.cobre.notification.domain.model.WebhookSubscription;
+import com.cobre.notification.domain.port.out.NotificationRepository;
+import com.cobre.notification.domain.port.out.SubscriptionRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class NotificationIngestionServiceTest {
+
+    @Mock
+    private SubscriptionRepository subscriptionRepository;
+
+    @Mock
+    private NotificationRepository notificationRepository;
+
+    @Mock
+    private OutboxDispatcher outboxDispatcher;
+
+    private NotificationIngestionService service;
+
+    @BeforeEach
+    void setUp() {
+        service = new NotificationIngestionService(subscriptionRepository, notificationRepository, outboxDispatcher);
+    }
+
+    @Test
+    void shouldPersistBatchOnceAndEnqueueEachEvent() {
+        WebhookSubscription subscription = new WebhookSubscription(
+                UUID.randomUUID(), "client-123", "payment.completed",
+                "https://webhook.test.com", "secret");
+        when(subscriptionRepository.findIndexByClientId("client-123"))
+                .thenReturn(SubscriptionIndex.of(List.of(subscription)));
+
+        int accepted = service.ingest(List.of(
+                message("client-123", "payment.completed"),
+                message("client-123", "payment.completed"),
+                message("client-123", "payment.completed")));
+
+        assertEquals(3, accepted);
+        verify(subscriptionRepository, times(1)).findIndexByClientId("client-123");
+        verify(notificationRepository, times(1)).insertBatch(argThat(events -> events.size() == 3));
+        verify(outboxDispatcher, times(1)).enqueue(argThat(deliveries -> deliveries.size() == 3 &&
+                deliveries.stream().allMatch(d -> d.clientId().equals("client-123"))));
+    }
+
+    @Test
+    void shouldSkipEventsWithoutActiveSubscription() {
+        when(subscriptionRepository.findIndexByClientId(anyString())).thenReturn(SubscriptionIndex.empty());
+
+        int accepted = service.ingest(List.of(message("client-123", "unknown.event")));
+
+        assertEquals(0, accepted);
+        verify(notificationRepository, never()).insertBatch(anyList());
+        verifyNoInteractions(outboxDispatcher);
+    }
+
+    @Test
+    void shouldFanOutToEveryMatchingSubscriptionInOneBatch() {
+        UUID exact = UUID.randomUUID();
+        UUID wildcard = UUID.randomUUID();
+        when(subscriptionRepository.findIndexByClientId("client-123"))
+                .thenReturn(SubscriptionIndex.of(List.of(
+                        new WebhookSubscription(exact, "client-123", "payment.completed",
+                                "https://a.test.com", "secret"),
+                        new WebhookSubscription(wildcard, "client-123", "payment.*",
+                                "https://b.test.com", "secret"),
+                        new WebhookSubscription(UUID.randomUUID(), "client-123", "refund.*",
+                                "https://c.test.com", "secret"))));
+
+        int accepted = service.ingest(List.of(message("client-123", "payment.completed")));
+
+        assertEquals(2, accepted);
+        verify(notificationRepository, times(1)).insertBatch(argThat(events -> events.size() == 2 &&
+                events.stream().anyMatch(e -> exact.equals(e.getSubscriptionId())) &&
+                events.stream().anyMatch(e -> wildcard.equals(e.getSubscriptionId()))));
+        verify(outboxDispatcher, times(1)).enqueue(argThat(deliveries -> deliveries.size() == 2));
+    }
+
+    private NotificationEventMessage message(String clientId, String eventType) {
+        NotificationEventMessage message = new NotificationEventMessage();
+        message.setClientId(clientId);
+        message.setEventType(eventType);
+        message.setEventData("{\"amount\": 100}".getBytes(StandardCharsets.UTF_8));
+        return message;
+    }
+}
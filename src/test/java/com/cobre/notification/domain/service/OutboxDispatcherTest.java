@@ -0,0 +1,130 @@
+package com.cobre.notification.domain.service;
+
+import com.cobre.notification.domain.model.OutboxEntry;
+import com.cobre.notification.domain.port.in.DispatchDeliveryUseCase;
+import com.cobre.notification.domain.port.out.DeliveryOutbox;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class OutboxDispatcherTest {
+
+    private static final String NODE = "node-1";
+
+    @Mock
+    private DeliveryOutbox outbox;
+
+    @Mock
+    private DispatchDeliveryUseCase dispatchUseCase;
+
+    private final Map<UUID, CompletableFuture<Void>> deliveries = new ConcurrentHashMap<>();
+    private OutboxDispatcher dispatcher;
+
+    @AfterEach
+    void tearDown() {
+        if (dispatcher != null) {
+            dispatcher.stop();
+        }
+    }
+
+    @Test
+    void shouldCapClaimsByEntriesInFlight() {
+        pendingDeliveries();
+        when(outbox.claim(eq(NODE), anyInt(), any()))
+                .thenReturn(List.of(entry(1), entry(2)))
+                .thenReturn(List.of(entry(3)))
+                .thenReturn(List.of());
+        dispatcher = dispatcher(2, 3, Duration.ofMinutes(5));
+        dispatcher.start();
+
+        verify(dispatchUseCase, timeout(1000).times(3)).dispatch(anyString(), any());
+        // Full: no further claims until something completes
+        verify(outbox, after(200).times(1)).claim(eq(NODE), eq(2), any());
+        verify(outbox, times(1)).claim(eq(NODE), eq(1), any());
+        verify(outbox, never()).claim(eq(NODE), intThat(limit -> limit < 1), any());
+    }
+
+    @Test
+    void shouldRemoveEntriesOnceDelivered() {
+        pendingDeliveries();
+        OutboxEntry first = entry(1);
+        OutboxEntry second = entry(2);
+        when(outbox.claim(eq(NODE), anyInt(), any()))
+                .thenReturn(List.of(first, second))
+                .thenReturn(List.of());
+        dispatcher = dispatcher(10, 100, Duration.ofMinutes(5));
+        dispatcher.start();
+        verify(dispatchUseCase, timeout(1000).times(2)).dispatch(anyString(), any());
+
+        deliveries.get(first.notificationId()).complete(null);
+        verify(outbox, timeout(1000)).remove(List.of(1L));
+
+        deliveries.get(second.notificationId()).complete(null);
+        verify(outbox, timeout(1000)).remove(List.of(2L));
+    }
+
+    @Test
+    void shouldRemoveDeliveredEntriesOnStop() {
+        when(dispatchUseCase.dispatch(anyString(), any())).thenReturn(CompletableFuture.completedFuture(null));
+        when(outbox.claim(eq(NODE), anyInt(), any()))
+                .thenReturn(List.of(entry(1)))
+                .thenReturn(List.of());
+        // Polls far apart, so only stop() can remove the entry
+        dispatcher = new OutboxDispatcher(outbox, dispatchUseCase, new SimpleMeterRegistry(), NODE,
+                10, 100, Duration.ofMinutes(1), Duration.ofMinutes(5));
+        dispatcher.start();
+        verify(dispatchUseCase, timeout(1000)).dispatch(anyString(), any());
+
+        dispatcher.stop();
+        dispatcher = null;
+
+        verify(outbox).remove(List.of(1L));
+    }
+
+    @Test
+    void shouldExtendLeasesOfEntriesInFlight() {
+        pendingDeliveries();
+        OutboxEntry delivered = entry(1);
+        when(outbox.claim(eq(NODE), anyInt(), any()))
+                .thenReturn(List.of(delivered, entry(2)))
+                .thenReturn(List.of());
+        Duration lease = Duration.ofMillis(100);
+        dispatcher = dispatcher(10, 100, lease);
+        dispatcher.start();
+
+        verify(outbox, timeout(1000).atLeastOnce())
+                .extendLeases(eq(NODE), argThat(ids -> ids.size() == 2 && ids.containsAll(List.of(1L, 2L))), eq(lease));
+
+        deliveries.get(delivered.notificationId()).complete(null);
+        verify(outbox, timeout(1000).atLeastOnce()).extendLeases(NODE, List.of(2L), lease);
+    }
+
+    private OutboxDispatcher dispatcher(int batchSize, int maxInFlight, Duration leaseDuration) {
+        return new OutboxDispatcher(outbox, dispatchUseCase, new SimpleMeterRegistry(), NODE,
+                batchSize, maxInFlight, Duration.ofMillis(10), leaseDuration);
+    }
+
+    // Each delivery stays in flight until the test completes it
+    private void pendingDeliveries() {
+        when(dispatchUseCase.dispatch(anyString(), any())).thenAnswer(invocation ->
+                deliveries.computeIfAbsent(invocation.getArgument(1), id -> new CompletableFuture<>()));
+    }
+
+    private static OutboxEntry entry(long id) {
+        return new OutboxEntry(id, UUID.randomUUID(), "client-123");
+    }
+}
@@ -1,35 +1,81 @@
 package com.cobre.notification.domain.service;
 
 import com.cobre.notification.domain.model.DeliveryStatus;
+import com.cobre.notification.domain.model.EventPayload;
 import com.cobre.notification.domain.model.NotificationEvent;
+import com.cobre.notification.domain.model.SubscriptionIndex;
+import com.cobre.notification.domain.model.WebhookSubscription;
 import com.cobre.notification.domain.port.out.NotificationRepository;
+import com.cobre.notification.domain.port.out.RetryScheduler;
+import com.cobre.notification.domain.port.out.SubscriptionRepository;
 import com.cobre.notification.domain.port.out.WebhookClient;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerRegistry;
+import io.github.resilience4j.ratelimiter.RateLimiterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 
+import java.time.Duration;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.List;
 import java.util.Optional;
+import java.util.Set;
 import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
 
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.ArgumentMatchers.*;
         import static org.mockito.Mockito.*;
 
 @ExtendWith(MockitoExtension.class)
 class WebhookDeliveryServiceTest {
 
+    // Caps batches at two events
+    private static final int DISPATCHER_MAX_IN_FLIGHT = 4;
+    private static final String NODE = "node-1";
+
     @Mock
     private WebhookClient webhookClient;
 
     @Mock
     private NotificationRepository notificationRepository;
 
+    @Mock
+    private RetryScheduler retryScheduler;
+
+    @Mock
+    private SubscriptionRepository subscriptionRepository;
+
+    private EndpointCircuitBreakers circuitBreakers;
+
     private WebhookDeliveryService service;
 
     @BeforeEach
     void setUp() {
-        service = new WebhookDeliveryService(webhookClient, notificationRepository);
+        circuitBreakers = new EndpointCircuitBreakers(
+                CircuitBreakerRegistry.ofDefaults(), Duration.ofMinutes(30), Duration.ofSeconds(60));
+        service = service(new DeliveryConcurrencyLimiter(0, 0));
+        lenient().when(notificationRepository.recordAttempt(any(), anyLong(), any(), anyInt(), any(), any(), any(), any(), any()))
+                .thenReturn(true);
+        lenient().when(subscriptionRepository.findIndexByClientId("client-123"))
+                .thenReturn(SubscriptionIndex.of(List.of(
+                        new WebhookSubscription(UUID.randomUUID(), "client-123", "test.event",
+                                "https://webhook.test.com", "secret"),
+                        new WebhookSubscription(UUID.randomUUID(), "client-123", "test.event",
+                                "https://webhook.test.com/events", "secret"))));
     }
 
     @Test
@@ -41,14 +87,15 @@ class WebhookDeliveryServiceTest {
         );
 
         when(notificationRepository.findById(id)).thenReturn(Optional.of(event));
-        when(webhookClient.post(anyString(), anyString(), anyMap()))
-                .thenReturn(new WebhookClient.WebhookResponse(200, "OK", null, true));
+        when(webhookClient.postAsync(anyString(), any(byte[].class), anyMap()))
+                .thenReturn(CompletableFuture.completedFuture(
+                        new WebhookClient.WebhookResponse(200, "OK", null, true)));
 
         service.deliverNotification(id);
 
-        verify(webhookClient).post(eq("https://webhook.test.com"), anyString(), anyMap());
-        verify(notificationRepository).save(argThat(e ->
-                e.getDeliveryStatus() == DeliveryStatus.DELIVERED));
+        verify(webhookClient).postAsync(eq("https://webhook.test.com"), any(byte[].class), anyMap());
+        verify(notificationRepository).recordAttempt(eq(id), eq(0L), eq(DeliveryStatus.DELIVERED), eq(0),
+                any(), isNull(), any(Instant.class), eq(200), isNull());
     }
 
     @Test
@@ -60,14 +107,15 @@ class WebhookDeliveryServiceTest {
         );
 
         when(notificationRepository.findById(id)).thenReturn(Optional.of(event));
-        when(webhookClient.post(anyString(), anyString(), anyMap()))
-                .thenReturn(new WebhookClient.WebhookResponse(500, null, "Server Error", false));
+        when(webhookClient.postAsync(anyString(), any(byte[].class), anyMap()))
+                .thenReturn(CompletableFuture.completedFuture(
+                        new WebhookClient.WebhookResponse(500, null, "Server Error", false)));
 
         service.deliverNotification(id);
 
-        verify(notificationRepository).save(argThat(e ->
-                e.getDeliveryStatus() == DeliveryStatus.RETRYING &&
-                        e.getDeliveryAttempts() == 1));
+        verify(notificationRepository).recordAttempt(eq(id), eq(0L), eq(DeliveryStatus.RETRYING), eq(1),
+                any(Instant.class), any(Instant.class), isNull(), eq(500), eq("Server Error"));
+        verify(retryScheduler).schedule(eq(id), any(Instant.class));
     }
 
     @Test
@@ -79,12 +127,439 @@ class WebhookDeliveryServiceTest {
         );
 
         when(notificationRepository.findById(id)).thenReturn(Optional.of(event));
-        when(webhookClient.post(anyString(), anyString(), anyMap()))
+        when(webhookClient.postAsync(anyString(), any(byte[].class), anyMap()))
                 .thenThrow(new RuntimeException("Connection timeout"));
 
         service.deliverNotification(id);
 
-        verify(notificationRepository).save(argThat(e ->
-                e.getDeliveryStatus() == DeliveryStatus.RETRYING));
+        verify(notificationRepository).recordAttempt(eq(id), anyLong(), eq(DeliveryStatus.RETRYING), eq(1),
+                any(), any(), any(), any(), any());
+    }
+
+    @Test
+    void shouldRecordOutcomeWhenAsyncResponseCompletes() {
+        UUID id = UUID.randomUUID();
+        NotificationEvent event = new NotificationEvent(
+                id, "client-123", "test.event",
+                "{\"data\": \"test\"}", "https://webhook.test.com"
+        );
+        CompletableFuture<WebhookClient.WebhookResponse> pending = new CompletableFuture<>();
+
+        when(notificationRepository.findById(id)).thenReturn(Optional.of(event));
+        when(webhookClient.postAsync(anyString(), any(byte[].class), anyMap())).thenReturn(pending);
+
+        CompletableFuture<Void> delivery = service.deliverNotification(id);
+
+        verify(notificationRepository, never()).recordAttempt(any(), anyLong(), any(), anyInt(), any(), any(), any(), any(), any());
+
+        pending.complete(new WebhookClient.WebhookResponse(200, "OK", null, true));
+
+        assertTrue(delivery.isDone());
+        verify(notificationRepository).recordAttempt(eq(id), anyLong(), eq(DeliveryStatus.DELIVERED), anyInt(),
+                any(), any(), any(), any(), any());
+    }
+
+    @Test
+    void shouldParkEventWithoutConsumingAttemptWhenEndpointBreakerIsOpen() {
+        UUID id = UUID.randomUUID();
+        NotificationEvent event = new NotificationEvent(
+                id, "client-123", "test.event",
+                "{\"data\": \"test\"}", "https://webhook.test.com/events"
+        );
+        circuitBreakers.forUrl("https://webhook.test.com/other").transitionToOpenState();
+
+        when(notificationRepository.findById(id)).thenReturn(Optional.of(event));
+
+        service.deliverNotification(id);
+
+        verifyNoInteractions(webhookClient);
+        // Written like any outcome, but without spending an attempt
+        verify(notificationRepository).recordAttempt(eq(id), eq(0L), eq(DeliveryStatus.RETRYING), eq(0),
+                any(), any(Instant.class), isNull(), any(), any());
+        assertEquals(DeliveryStatus.RETRYING, event.getDeliveryStatus());
+        assertEquals(0, event.getDeliveryAttempts());
+        verify(retryScheduler).schedule(eq(id), any(Instant.class));
+    }
+
+    @Test
+    void shouldParkThrottledEventUntilRetryAfterWithoutConsumingAttempt() {
+        UUID id = UUID.randomUUID();
+        NotificationEvent event = new NotificationEvent(
+                id, "client-123", "test.event",
+                "{\"data\": \"test\"}", "https://webhook.test.com"
+        );
+
+        when(notificationRepository.findById(id)).thenReturn(Optional.of(event));
+        when(webhookClient.postAsync(anyString(), any(byte[].class), anyMap()))
+                .thenReturn(CompletableFuture.completedFuture(
+                        new WebhookClient.WebhookResponse(429, null, "HTTP 429", false, Duration.ofSeconds(120))));
+
+        Instant before = Instant.now();
+        service.deliverNotification(id);
+
+        verify(notificationRepository).recordAttempt(eq(id), eq(0L), eq(DeliveryStatus.RETRYING), eq(0),
+                any(), argThat(at -> !at.isBefore(before.plusSeconds(119))), isNull(), any(), any());
+        assertEquals(0, event.getDeliveryAttempts());
+        verify(retryScheduler).schedule(eq(id), any(Instant.class));
+    }
+
+    @Test
+    void shouldSignWithSubscriptionSecret() {
+        UUID id = UUID.randomUUID();
+        NotificationEvent event = new NotificationEvent(
+                id, "client-123", "test.event",
+                "{\"data\": \"test\"}", "https://webhook.test.com"
+        );
+
+        when(notificationRepository.findById(id)).thenReturn(Optional.of(event));
+        when(webhookClient.postAsync(anyString(), any(byte[].class), anyMap()))
+                .thenReturn(CompletableFuture.completedFuture(
+                        new WebhookClient.WebhookResponse(200, "OK", null, true)));
+
+        service.deliverNotification(id);
+
+        // HMAC-SHA256 of the payload with key "secret"
+        verify(webhookClient).postAsync(anyString(), any(byte[].class), argThat(headers ->
+                "9efNk24UlhIsLonvhV8VDZwrNgivsZvBLkVdNn5r3Bs=".equals(headers.get("X-Webhook-Signature"))));
+    }
+
+    @Test
+    void shouldSignFannedOutEventWithItsOwnSubscription() {
+        UUID id = UUID.randomUUID();
+        UUID subscriptionId = UUID.randomUUID();
+        NotificationEvent event = new NotificationEvent(
+                id, "client-123", "test.event",
+                "{\"data\": \"test\"}", "https://other.test.com", subscriptionId
+        );
+
+        when(notificationRepository.findById(id)).thenReturn(Optional.of(event));
+        when(subscriptionRepository.findById(subscriptionId)).thenReturn(Optional.of(new WebhookSubscription(
+                subscriptionId, "client-123", "test.#", "https://other.test.com", "secret")));
+        when(webhookClient.postAsync(anyString(), any(byte[].class), anyMap()))
+                .thenReturn(CompletableFuture.completedFuture(
+                        new WebhookClient.WebhookResponse(200, "OK", null, true)));
+
+        service.deliverNotification(id);
+
+        verify(webhookClient).postAsync(eq("https://other.test.com"), any(byte[].class), argThat(headers ->
+                "9efNk24UlhIsLonvhV8VDZwrNgivsZvBLkVdNn5r3Bs=".equals(headers.get("X-Webhook-Signature"))));
+    }
+
+    @Test
+    void shouldNotScheduleRetryWhenRowChangedDuringDelivery() {
+        UUID id = UUID.randomUUID();
+        NotificationEvent event = new NotificationEvent(
+                id, "client-123", "test.event",
+                "{\"data\": \"test\"}", "https://webhook.test.com"
+        );
+
+        when(notificationRepository.findById(id)).thenReturn(Optional.of(event));
+        when(notificationRepository.recordAttempt(any(), anyLong(), any(), anyInt(), any(), any(), any(), any(), any()))
+                .thenReturn(false);
+        when(webhookClient.postAsync(anyString(), any(byte[].class), anyMap()))
+                .thenReturn(CompletableFuture.completedFuture(
+                        new WebhookClient.WebhookResponse(500, null, "Server Error", false)));
+
+        service.deliverNotification(id);
+
+        verifyNoInteractions(retryScheduler);
+    }
+
+    @Test
+    void shouldSkipAlreadyDeliveredNotification() {
+        UUID id = UUID.randomUUID();
+        NotificationEvent event = new NotificationEvent(
+                id, "client-123", "test.event",
+                "{\"data\": \"test\"}", "https://webhook.test.com"
+        );
+        event.markAsDelivered(200);
+
+        when(notificationRepository.findById(id)).thenReturn(Optional.of(event));
+
+        service.deliverNotification(id);
+
+        verifyNoInteractions(webhookClient, retryScheduler);
+        verify(notificationRepository, never()).recordAttempt(any(), anyLong(), any(), anyInt(), any(), any(), any(), any(), any());
+    }
+
+    @Test
+    void shouldFailDeliveryOfUnknownNotification() {
+        UUID id = UUID.randomUUID();
+        when(notificationRepository.findById(id)).thenReturn(Optional.empty());
+
+        CompletableFuture<Void> delivery = service.deliverNotification(id);
+
+        assertTrue(delivery.isCompletedExceptionally());
+        verifyNoInteractions(webhookClient);
+    }
+
+    @Test
+    void shouldRetryEventWhosePayloadIsMissingWithoutSending() {
+        UUID id = UUID.randomUUID();
+        NotificationEvent event = new NotificationEvent(
+                id, "client-123", "test.event",
+                (EventPayload) null, "https://webhook.test.com", null
+        );
+        when(notificationRepository.findById(id)).thenReturn(Optional.of(event));
+
+        service.deliverNotification(id);
+
+        verifyNoInteractions(webhookClient);
+        verify(notificationRepository).recordAttempt(eq(id), eq(0L), eq(DeliveryStatus.RETRYING), eq(1),
+                any(Instant.class), any(Instant.class), isNull(), isNull(), eq("Event payload is missing"));
+        verify(retryScheduler).schedule(eq(id), any(Instant.class));
+    }
+
+    @Test
+    void shouldSendFullBatchAsOneSignedArray() {
+        UUID subscriptionId = batchedSubscription(2);
+        NotificationEvent first = batchedEvent(subscriptionId, "{\"n\": 1}");
+        NotificationEvent second = batchedEvent(subscriptionId, "{\"n\": 2}");
+        when(webhookClient.postAsync(anyString(), any(byte[].class), anyMap()))
+                .thenReturn(CompletableFuture.completedFuture(
+                        new WebhookClient.WebhookResponse(200, "OK", null, true)));
+
+        CompletableFuture<Void> firstDelivery = service.deliverNotification(first.getId());
+        assertFalse(firstDelivery.isDone());
+        verifyNoInteractions(webhookClient);
+
+        CompletableFuture<Void> secondDelivery = service.deliverNotification(second.getId());
+
+        ArgumentCaptor<byte[]> body = ArgumentCaptor.forClass(byte[].class);
+        verify(webhookClient).postAsync(eq("https://batch.test.com"), body.capture(), argThat(headers ->
+                "2".equals(headers.get("X-Batch-Size")) && headers.containsKey("X-Webhook-Signature")));
+        assertEquals("[{\"id\":\"" + first.getId() + "\",\"eventType\":\"test.event\",\"data\":{\"n\": 1}},"
+                        + "{\"id\":\"" + second.getId() + "\",\"eventType\":\"test.event\",\"data\":{\"n\": 2}}]",
+                new String(body.getValue(), StandardCharsets.UTF_8));
+        assertTrue(firstDelivery.isDone() && secondDelivery.isDone());
+        verify(notificationRepository).recordAttempt(eq(first.getId()), anyLong(), eq(DeliveryStatus.DELIVERED),
+                anyInt(), any(), any(), any(), eq(200), any());
+        verify(notificationRepository).recordAttempt(eq(second.getId()), anyLong(), eq(DeliveryStatus.DELIVERED),
+                anyInt(), any(), any(), any(), eq(200), any());
+    }
+
+    @Test
+    void shouldFailEveryEventInBatchTogether() {
+        UUID subscriptionId = batchedSubscription(2);
+        NotificationEvent first = batchedEvent(subscriptionId, "{}");
+        NotificationEvent second = batchedEvent(subscriptionId, "{}");
+        when(webhookClient.postAsync(anyString(), any(byte[].class), anyMap()))
+                .thenReturn(CompletableFuture.completedFuture(
+                        new WebhookClient.WebhookResponse(500, null, "Server Error", false)));
+
+        service.deliverNotification(first.getId());
+        service.deliverNotification(second.getId());
+
+        verify(webhookClient, times(1)).postAsync(anyString(), any(byte[].class), anyMap());
+        verify(notificationRepository).recordAttempt(eq(first.getId()), anyLong(), eq(DeliveryStatus.RETRYING),
+                eq(1), any(), any(), any(), eq(500), eq("Server Error"));
+        verify(notificationRepository).recordAttempt(eq(second.getId()), anyLong(), eq(DeliveryStatus.RETRYING),
+                eq(1), any(), any(), any(), eq(500), eq("Server Error"));
+        verify(retryScheduler).schedule(eq(first.getId()), any(Instant.class));
+        verify(retryScheduler).schedule(eq(second.getId()), any(Instant.class));
+    }
+
+    @Test
+    void shouldCapBatchBelowDispatcherInFlightLimit() {
+        UUID subscriptionId = batchedSubscription(100);
+        NotificationEvent first = batchedEvent(subscriptionId, "{}");
+        NotificationEvent second = batchedEvent(subscriptionId, "{}");
+        when(webhookClient.postAsync(anyString(), any(byte[].class), anyMap()))
+                .thenReturn(CompletableFuture.completedFuture(
+                        new WebhookClient.WebhookResponse(200, "OK", null, true)));
+
+        service.deliverNotification(first.getId());
+        CompletableFuture<Void> secondDelivery = service.deliverNotification(second.getId());
+
+        // Sent at half the dispatcher's permits rather than waiting for 100 events
+        verify(webhookClient).postAsync(eq("https://batch.test.com"), any(byte[].class),
+                argThat(headers -> "2".equals(headers.get("X-Batch-Size"))));
+        assertTrue(secondDelivery.isDone());
+    }
+
+    @Test
+    void shouldParkEventWhenInterruptedWaitingForDeliverySlot() {
+        service = service(new DeliveryConcurrencyLimiter(1, 0));
+        UUID id = UUID.randomUUID();
+        NotificationEvent event = new NotificationEvent(
+                id, "client-123", "test.event",
+                "{\"data\": \"test\"}", "https://webhook.test.com"
+        );
+        when(notificationRepository.findById(id)).thenReturn(Optional.of(event));
+
+        Thread.currentThread().interrupt();
+        try {
+            service.deliverNotification(id);
+            assertTrue(Thread.currentThread().isInterrupted());
+        } finally {
+            Thread.interrupted();
+        }
+
+        verifyNoInteractions(webhookClient);
+        verify(notificationRepository).recordAttempt(eq(id), eq(0L), eq(DeliveryStatus.RETRYING), eq(0),
+                any(), any(Instant.class), isNull(), any(), any());
+        verify(retryScheduler).schedule(eq(id), any(Instant.class));
+        assertEquals(0, event.getDeliveryAttempts());
+    }
+
+    @Test
+    void shouldSkipRetryLeasedToAnotherNodeOrNotYetDue() {
+        Instant now = Instant.now();
+        NotificationEvent leasedElsewhere = retrying(now.minusSeconds(1), "node-2", now.plusSeconds(60));
+        NotificationEvent rescheduled = retrying(now.plusSeconds(60), null, null);
+
+        service.deliverNotification(leasedElsewhere.getId()).join();
+        service.deliverNotification(rescheduled.getId()).join();
+
+        verifyNoInteractions(webhookClient, retryScheduler);
+        verify(notificationRepository, never()).recordAttempt(any(), anyLong(), any(), anyInt(), any(), any(), any(), any(), any());
+    }
+
+    @Test
+    void shouldSendRetryLeasedToThisNode() {
+        Instant now = Instant.now();
+        NotificationEvent claimed = retrying(now.minusSeconds(1), NODE, now.plusSeconds(60));
+        when(webhookClient.postAsync(anyString(), any(byte[].class), anyMap()))
+                .thenReturn(CompletableFuture.completedFuture(
+                        new WebhookClient.WebhookResponse(200, "OK", null, true)));
+
+        service.deliverNotification(claimed.getId()).join();
+
+        verify(notificationRepository).recordAttempt(eq(claimed.getId()), eq(1L), eq(DeliveryStatus.DELIVERED), eq(1),
+                any(), isNull(), any(Instant.class), eq(200), isNull());
+    }
+
+    private NotificationEvent retrying(Instant nextAttemptAt, String leaseOwner, Instant leaseExpiresAt) {
+        NotificationEvent event = new NotificationEvent(UUID.randomUUID(), "client-123", "test.event",
+                EventPayload.of("{\"data\": \"test\"}"), Instant.now(), "https://webhook.test.com", null,
+                DeliveryStatus.RETRYING, 1, Instant.now(), nextAttemptAt, null, "Server Error", 500, 1L,
+                leaseOwner, leaseExpiresAt);
+        lenient().when(notificationRepository.findById(event.getId())).thenReturn(Optional.of(event));
+        return event;
+    }
+
+    @Test
+    void shouldWriteParkedOutcomeOnStatusWriterThread() throws Exception {
+        DeliveryStatusWriter statusWriter = new DeliveryStatusWriter(
+                notificationRepository, new SimpleMeterRegistry(), 500, 10000);
+        statusWriter.start();
+        service = service(new DeliveryConcurrencyLimiter(0, 0), statusWriter);
+        UUID id = UUID.randomUUID();
+        NotificationEvent event = new NotificationEvent(
+                id, "client-123", "test.event",
+                "{\"data\": \"test\"}", "https://webhook.test.com"
+        );
+        when(notificationRepository.findById(id)).thenReturn(Optional.of(event));
+        CompletableFuture<WebhookClient.WebhookResponse> response = new CompletableFuture<>();
+        when(webhookClient.postAsync(anyString(), any(byte[].class), anyMap())).thenReturn(response);
+        Set<String> writingThreads = ConcurrentHashMap.newKeySet();
+        when(notificationRepository.recordAttempt(eq(id), anyLong(), any(), anyInt(), any(), any(), any(), any(), any()))
+                .thenAnswer(invocation -> writingThreads.add(Thread.currentThread().getName()));
+
+        try {
+            CompletableFuture<Void> delivery = service.deliverNotification(id);
+            // This thread stands in for the HTTP client's I/O thread
+            response.complete(new WebhookClient.WebhookResponse(429, null, "HTTP 429", false, Duration.ofSeconds(120)));
+            delivery.get(5, TimeUnit.SECONDS);
+        } finally {
+            statusWriter.stop();
+        }
+
+        assertEquals(Set.of("delivery-status-writer"), writingThreads);
+        verify(retryScheduler).schedule(eq(id), any(Instant.class));
+    }
+
+    @Test
+    void shouldParkEventWhenSendExecutorIsSaturated() {
+        Executor saturated = task -> {
+            throw new RejectedExecutionException("queue full");
+        };
+        service = service(new DeliveryConcurrencyLimiter(0, 0), new DeliveryStatusWriter(
+                notificationRepository, new SimpleMeterRegistry(), 500, 10000), saturated);
+        UUID id = UUID.randomUUID();
+        NotificationEvent event = new NotificationEvent(
+                id, "client-123", "test.event",
+                "{\"data\": \"test\"}", "https://webhook.test.com"
+        );
+        when(notificationRepository.findById(id)).thenReturn(Optional.of(event));
+
+        Instant before = Instant.now();
+        CompletableFuture<Void> delivery = service.deliverNotification(id);
+
+        assertFalse(delivery.isCompletedExceptionally());
+        verifyNoInteractions(webhookClient);
+        verify(notificationRepository).recordAttempt(eq(id), eq(0L), eq(DeliveryStatus.RETRYING), eq(0),
+                any(), argThat(at -> !at.isBefore(before.plusSeconds(5))), isNull(), any(), any());
+        verify(retryScheduler).schedule(eq(id), any(Instant.class));
+    }
+
+    @Test
+    void shouldSendOffTheLoaderThread() throws Exception {
+        DeliveryLoader loader = new DeliveryLoader(notificationRepository, new SimpleMeterRegistry(), 500, 10000);
+        loader.start();
+        ExecutorService sendExecutor = Executors.newSingleThreadExecutor(task -> new Thread(task, "send"));
+        service = new WebhookDeliveryService(webhookClient, retryScheduler,
+                new DeliveryConcurrencyLimiter(0, 0), circuitBreakers, subscriptionRepository,
+                new EndpointRateLimiters(RateLimiterRegistry.ofDefaults(), 50, Duration.ofSeconds(5),
+                        Duration.ofSeconds(30), Duration.ofMinutes(30)),
+                new WebhookSigner(100, Duration.ofHours(1)),
+                new DeliveryStatusWriter(notificationRepository, new SimpleMeterRegistry(), 500, 10000), loader,
+                new DeliveryBatcher(Duration.ofMinutes(1), DISPATCHER_MAX_IN_FLIGHT, Runnable::run),
+                sendExecutor, Duration.ofSeconds(5), NODE);
+        UUID id = UUID.randomUUID();
+        when(notificationRepository.findById(id)).thenReturn(Optional.of(new NotificationEvent(
+                id, "client-123", "test.event", "{\"data\": \"test\"}", "https://webhook.test.com")));
+        Set<String> sendingThreads = ConcurrentHashMap.newKeySet();
+        when(webhookClient.postAsync(anyString(), any(byte[].class), anyMap())).thenAnswer(invocation -> {
+            sendingThreads.add(Thread.currentThread().getName());
+            return CompletableFuture.completedFuture(new WebhookClient.WebhookResponse(200, "OK", null, true));
+        });
+
+        try {
+            service.deliverNotification(id).get(5, TimeUnit.SECONDS);
+        } finally {
+            loader.stop();
+            sendExecutor.shutdownNow();
+        }
+
+        assertEquals(Set.of("send"), sendingThreads);
+    }
+
+    private WebhookDeliveryService service(DeliveryConcurrencyLimiter concurrencyLimiter) {
+        return service(concurrencyLimiter, new DeliveryStatusWriter(
+                notificationRepository, new SimpleMeterRegistry(), 500, 10000));
+    }
+
+    private WebhookDeliveryService service(DeliveryConcurrencyLimiter concurrencyLimiter,
+                                           DeliveryStatusWriter statusWriter) {
+        return service(concurrencyLimiter, statusWriter, Runnable::run);
+    }
+
+    private WebhookDeliveryService service(DeliveryConcurrencyLimiter concurrencyLimiter,
+                                           DeliveryStatusWriter statusWriter, Executor sendExecutor) {
+        SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+        return new WebhookDeliveryService(webhookClient, retryScheduler,
+                concurrencyLimiter, circuitBreakers, subscriptionRepository,
+                new EndpointRateLimiters(RateLimiterRegistry.ofDefaults(), 50, Duration.ofSeconds(5),
+                        Duration.ofSeconds(30), Duration.ofMinutes(30)),
+                new WebhookSigner(100, Duration.ofHours(1)), statusWriter,
+                new DeliveryLoader(notificationRepository, meterRegistry, 500, 10000),
+                new DeliveryBatcher(Duration.ofMinutes(1), DISPATCHER_MAX_IN_FLIGHT, Runnable::run),
+                sendExecutor, Duration.ofSeconds(5), NODE);
+    }
+
+    private UUID batchedSubscription(int maxEvents) {
+        UUID subscriptionId = UUID.randomUUID();
+        when(subscriptionRepository.findById(subscriptionId)).thenReturn(Optional.of(new WebhookSubscription(
+                subscriptionId, "client-123", "test.event", "https://batch.test.com", "secret",
+                true, Instant.now(), null, maxEvents, null)));
+        return subscriptionId;
+    }
+
+    private NotificationEvent batchedEvent(UUID subscriptionId, String payload) {
+        NotificationEvent event = new NotificationEvent(UUID.randomUUID(), "client-123", "test.event",
+                payload, "https://batch.test.com", subscriptionId);
+        when(notificationRepository.findById(event.getId())).thenReturn(Optional.of(event));
+        return event;
     }
-}
\ No newline at end of file
+}
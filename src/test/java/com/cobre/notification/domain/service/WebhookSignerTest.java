@@ -0,0 +1,63 @@
+package com.cobre.notification.domain.service;
+
+import com.cobre.notification.domain.model.WebhookSubscription;
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class WebhookSignerTest {
+
+    private final WebhookSigner signer = new WebhookSigner(100, Duration.ofHours(1));
+
+    @Test
+    void shouldProduceSameSignatureFromPooledMac() {
+        WebhookSubscription subscription = subscription(UUID.randomUUID(), "secret");
+        byte[] payload = "{\"data\": \"test\"}".getBytes(StandardCharsets.UTF_8);
+
+        String first = signer.sign(subscription, payload);
+        String second = signer.sign(subscription, payload);
+
+        assertEquals("9efNk24UlhIsLonvhV8VDZwrNgivsZvBLkVdNn5r3Bs=", first);
+        assertEquals(first, second);
+    }
+
+    @Test
+    void shouldUseNewSecretAfterRotation() {
+        UUID id = UUID.randomUUID();
+        byte[] payload = "{}".getBytes(StandardCharsets.UTF_8);
+
+        String before = signer.sign(subscription(id, "old-secret"), payload);
+        String after = signer.sign(subscription(id, "new-secret"), payload);
+
+        assertNotEquals(before, after);
+        assertEquals(signer.sign(subscription(UUID.randomUUID(), "new-secret"), payload), after);
+    }
+
+    @Test
+    void shouldBoundTheNumberOfCachedKeys() {
+        WebhookSigner bounded = new WebhookSigner(2, Duration.ofHours(1));
+        byte[] payload = "{}".getBytes(StandardCharsets.UTF_8);
+
+        for (int i = 0; i < 10; i++) {
+            bounded.sign(subscription(UUID.randomUUID(), "secret-" + i), payload);
+        }
+
+        assertTrue(bounded.cachedKeys() <= 2);
+    }
+
+    @Test
+    void shouldDropKeysOnceIdle() {
+        WebhookSigner expiring = new WebhookSigner(100, Duration.ZERO);
+        expiring.sign(subscription(UUID.randomUUID(), "secret"), "{}".getBytes(StandardCharsets.UTF_8));
+
+        assertEquals(0, expiring.cachedKeys());
+    }
+
+    private WebhookSubscription subscription(UUID id, String secret) {
+        return new WebhookSubscription(id, "client-123", "test.event", "https://webhook.test.com", secret);
+    }
+}
@@ -0,0 +1,55 @@
+package com.cobre.notification.domain.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class WeightedFairQueueTest {
+
+    @Test
+    void shouldInterleaveTenantsInsteadOfServingFifo() {
+        WeightedFairQueue<String> queue = new WeightedFairQueue<>(tenant -> 1, 100);
+        for (int i = 0; i < 5; i++) {
+            queue.offer("big", "big-" + i);
+        }
+        queue.offer("small", "small-0");
+
+        assertEquals(List.of("big-0", "small-0", "big-1", "big-2", "big-3", "big-4"), drain(queue));
+    }
+
+    @Test
+    void shouldServeTenantsProportionallyToWeight() {
+        Map<String, Integer> weights = Map.of("gold", 3);
+        WeightedFairQueue<String> queue = new WeightedFairQueue<>(t -> weights.getOrDefault(t, 1), 100);
+        for (int i = 0; i < 4; i++) {
+            queue.offer("gold", "g" + i);
+            queue.offer("basic", "b" + i);
+        }
+
+        assertEquals(List.of("g0", "g1", "g2", "b0", "g3", "b1", "b2", "b3"), drain(queue));
+    }
+
+    @Test
+    void shouldRejectItemsBeyondTenantCap() {
+        WeightedFairQueue<String> queue = new WeightedFairQueue<>(tenant -> 1, 2);
+
+        assertTrue(queue.offer("client", "a"));
+        assertTrue(queue.offer("client", "b"));
+        assertFalse(queue.offer("client", "c"));
+        assertTrue(queue.offer("other", "d"));
+        assertEquals(3, queue.size());
+        assertEquals(2, queue.tenantCount());
+    }
+
+    private List<String> drain(WeightedFairQueue<String> queue) {
+        List<String> drained = new ArrayList<>();
+        while (!queue.isEmpty()) {
+            drained.add(queue.poll());
+        }
+        return drained;
+    }
+}
@@ -0,0 +1,69 @@
+package com.cobre.notification.infrastructure.http;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.RejectedExecutionException;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class HostLimiterTest {
+
+    @Test
+    void shouldStartQueuedRequestsAsSlotsFree() {
+        HostLimiter limiter = new HostLimiter(1, 10);
+        List<CompletableFuture<String>> calls = new ArrayList<>();
+
+        CompletableFuture<String> first = limiter.submit(() -> call(calls));
+        CompletableFuture<String> second = limiter.submit(() -> call(calls));
+        assertEquals(1, calls.size());
+
+        calls.get(0).complete("first");
+        assertEquals("first", first.join());
+        assertEquals(2, calls.size());
+        calls.get(1).complete("second");
+        assertEquals("second", second.join());
+    }
+
+    @Test
+    void shouldRejectRequestsBeyondTheQueueBound() {
+        HostLimiter limiter = new HostLimiter(1, 2);
+        List<CompletableFuture<String>> calls = new ArrayList<>();
+
+        limiter.submit(() -> call(calls));
+        CompletableFuture<String> queued = limiter.submit(() -> call(calls));
+        CompletableFuture<String> alsoQueued = limiter.submit(() -> call(calls));
+        CompletableFuture<String> rejected = limiter.submit(() -> call(calls));
+
+        CompletionException error = assertThrows(CompletionException.class, rejected::join);
+        assertInstanceOf(RejectedExecutionException.class, error.getCause());
+        assertFalse(queued.isDone());
+        assertFalse(alsoQueued.isDone());
+
+        // Room again once the head of the queue starts
+        calls.get(0).complete("done");
+        assertFalse(limiter.submit(() -> call(calls)).isCompletedExceptionally());
+    }
+
+    @Test
+    void shouldOnlyBeIdleWithNothingInFlightOrWaiting() {
+        HostLimiter limiter = new HostLimiter(1, 10);
+        List<CompletableFuture<String>> calls = new ArrayList<>();
+        limiter.submit(() -> call(calls));
+
+        assertFalse(limiter.isIdleSince(System.nanoTime() + 1));
+
+        calls.get(0).complete("done");
+        assertTrue(limiter.isIdleSince(System.nanoTime() + 1));
+        assertFalse(limiter.isIdleSince(System.nanoTime() - 60_000_000_000L));
+    }
+
+    private static CompletableFuture<String> call(List<CompletableFuture<String>> calls) {
+        CompletableFuture<String> call = new CompletableFuture<>();
+        calls.add(call);
+        return call;
+    }
+}
@@ -0,0 +1,69 @@
+package com.cobre.notification.infrastructure.http;
+
+import com.cobre.notification.domain.port.out.WebhookClient;
+import com.cobre.notification.infrastructure.config.HttpClientConfig;
+import com.sun.net.httpserver.HttpServer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.apache.hc.client5.http.impl.classic.CloseableHttpClient;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.web.client.RestTemplateBuilder;
+
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class WebhookHttpClientTest {
+
+    private final AtomicInteger landingRequests = new AtomicInteger();
+    private HttpServer server;
+    private CloseableHttpClient httpClient;
+    private WebhookHttpClient webhookClient;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        server = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+        server.createContext("/moved", exchange -> {
+            exchange.getResponseHeaders().add("Location", "/landing");
+            exchange.sendResponseHeaders(302, -1);
+            exchange.close();
+        });
+        server.createContext("/landing", exchange -> {
+            landingRequests.incrementAndGet();
+            exchange.sendResponseHeaders(200, -1);
+            exchange.close();
+        });
+        server.start();
+
+        HttpClientConfig config = new HttpClientConfig();
+        httpClient = config.pooledHttpClient(
+                config.webhookConnectionManager(10, 10, Duration.ofMinutes(5), 10, Duration.ofHours(1),
+                        Duration.ofSeconds(5), new SimpleMeterRegistry()),
+                Duration.ofSeconds(30), Duration.ofSeconds(60), Duration.ofSeconds(5));
+        webhookClient = new WebhookHttpClient(config.restTemplate(new RestTemplateBuilder(), httpClient));
+    }
+
+    @AfterEach
+    void tearDown() throws IOException {
+        httpClient.close();
+        server.stop(0);
+    }
+
+    @Test
+    void shouldTreatRedirectAsFailedAttempt() {
+        String url = "http://localhost:" + server.getAddress().getPort() + "/moved";
+
+        WebhookClient.WebhookResponse response = webhookClient.post(url,
+                "{\"amount\": 100}".getBytes(StandardCharsets.UTF_8), Map.of("Content-Type", "application/json"));
+
+        assertFalse(response.isSuccess());
+        assertEquals(302, response.getStatusCode());
+        assertEquals(0, landingRequests.get());
+    }
+}
@@ -0,0 +1,74 @@
+package com.cobre.notification.infrastructure.persistence.cache;
+
+import com.cobre.notification.domain.model.SubscriptionIndex;
+import com.cobre.notification.domain.model.WebhookSubscription;
+import com.cobre.notification.infrastructure.persistence.jpa.JpaSubscriptionRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class CachingSubscriptionRepositoryTest {
+
+    @Mock
+    private JpaSubscriptionRepository delegate;
+
+    private CachingSubscriptionRepository repository;
+
+    @BeforeEach
+    void setUp() {
+        repository = new CachingSubscriptionRepository(delegate, new SimpleMeterRegistry(),
+                1000, Duration.ofMinutes(10), Duration.ofMinutes(1));
+    }
+
+    @Test
+    void shouldServeRepeatedLookupsFromCache() {
+        SubscriptionIndex index = SubscriptionIndex.of(List.of(new WebhookSubscription(
+                UUID.randomUUID(), "client-123", "payment.completed", "https://webhook.test.com", "secret")));
+        when(delegate.findIndexByClientId("client-123")).thenReturn(index);
+
+        repository.findIndexByClientId("client-123");
+        SubscriptionIndex cached = repository.findIndexByClientId("client-123");
+
+        assertSame(index, cached);
+        verify(delegate, times(1)).findIndexByClientId("client-123");
+    }
+
+    @Test
+    void shouldCacheMissingSubscriptions() {
+        UUID id = UUID.randomUUID();
+        when(delegate.findById(id)).thenReturn(Optional.empty());
+
+        assertTrue(repository.findById(id).isEmpty());
+        assertTrue(repository.findById(id).isEmpty());
+
+        verify(delegate, times(1)).findById(id);
+    }
+
+    @Test
+    void shouldReloadAfterInvalidation() {
+        UUID id = UUID.randomUUID();
+        when(delegate.findIndexByClientId("client-123")).thenReturn(SubscriptionIndex.empty());
+        when(delegate.findById(id)).thenReturn(Optional.empty());
+
+        repository.findIndexByClientId("client-123");
+        repository.findById(id);
+        repository.invalidate("client-123", id);
+        repository.findIndexByClientId("client-123");
+        repository.findById(id);
+
+        verify(delegate, times(2)).findIndexByClientId("client-123");
+        verify(delegate, times(2)).findById(id);
+    }
+}
@@ -0,0 +1,213 @@
+package com.cobre.notification.infrastructure.persistence.jpa;
+
+import com.cobre.notification.domain.model.DeliveryStatus;
+import com.cobre.notification.domain.model.NotificationEvent;
+import com.cobre.notification.domain.model.PendingDelivery;
+import com.cobre.notification.domain.model.ScheduledRetry;
+import com.cobre.notification.infrastructure.persistence.payload.PayloadStore;
+import org.flywaydb.core.Flyway;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@Tag("integration")
+@Testcontainers(disabledWithoutDocker = true)
+class JpaNotificationRepositoryIntegrationTest {
+
+    @Container
+    private static final PostgreSQLContainer<?> postgres = new PostgreSQLContainer<>("postgres:16-alpine");
+
+    private static NamedParameterJdbcTemplate jdbcTemplate;
+    private static JpaNotificationRepository repository;
+    private static TransactionTemplate transactionTemplate;
+
+    @BeforeAll
+    static void migrate() {
+        DriverManagerDataSource dataSource = new DriverManagerDataSource(
+                postgres.getJdbcUrl(), postgres.getUsername(), postgres.getPassword());
+        Flyway.configure().dataSource(dataSource).load().migrate();
+
+        jdbcTemplate = new NamedParameterJdbcTemplate(dataSource);
+        transactionTemplate = new TransactionTemplate(new DataSourceTransactionManager(dataSource));
+        repository = new JpaNotificationRepository(jdbcTemplate, new JdbcNotificationQueries(jdbcTemplate),
+                new PayloadStore(jdbcTemplate, "gzip", 16));
+    }
+
+    @BeforeEach
+    void emptyEvents() {
+        jdbcTemplate.getJdbcTemplate().execute("TRUNCATE notification_events");
+    }
+
+    @Test
+    void insertBatchShouldStoreEventsAndShareIdenticalPayloads() {
+        String shared = "{\"amount\": 100, \"currency\": \"" + UUID.randomUUID() + "\"}";
+        String distinct = "{\"amount\": 200, \"currency\": \"" + UUID.randomUUID() + "\"}";
+        NotificationEvent first = event(shared);
+        NotificationEvent second = event(shared);
+        NotificationEvent third = event(distinct);
+
+        repository.insertBatch(List.of(first, second, third));
+
+        Map<UUID, NotificationEvent> stored = repository.findAllById(List.of(first.getId(), second.getId(), third.getId()))
+                .stream().collect(Collectors.toMap(NotificationEvent::getId, event -> event));
+        assertEquals(3, stored.size());
+        assertEquals(shared, stored.get(first.getId()).getEventData());
+        assertEquals(shared, stored.get(second.getId()).getEventData());
+        assertEquals(distinct, stored.get(third.getId()).getEventData());
+        assertEquals(DeliveryStatus.PENDING, stored.get(first.getId()).getDeliveryStatus());
+        assertEquals(1, jdbcTemplate.queryForObject(
+                "SELECT count(DISTINCT payload_hash) FROM notification_events WHERE id IN (:first, :second)",
+                Map.of("first", first.getId(), "second", second.getId()), Integer.class));
+    }
+
+    @Test
+    void updateStatusBatchShouldSkipRowsChangedSinceRead() {
+        NotificationEvent current = event("{\"amount\": 100}");
+        NotificationEvent stale = event("{\"amount\": 100}");
+        repository.insertBatch(List.of(current, stale));
+        // Another writer gets to the second row first and bumps its version
+        assertTrue(repository.recordAttempt(stale.getId(), 0L, DeliveryStatus.FAILED, 7, null, null, null,
+                500, "gave up"));
+
+        current.markAsDelivered(200);
+        stale.markAsDelivered(200);
+        Set<UUID> written = repository.updateStatusBatch(List.of(current, stale));
+
+        assertEquals(Set.of(current.getId()), written);
+        NotificationEvent delivered = repository.findById(current.getId()).orElseThrow();
+        assertEquals(DeliveryStatus.DELIVERED, delivered.getDeliveryStatus());
+        assertEquals(200, delivered.getResponseCode());
+        assertEquals(1L, delivered.getVersion());
+        NotificationEvent untouched = repository.findById(stale.getId()).orElseThrow();
+        assertEquals(DeliveryStatus.FAILED, untouched.getDeliveryStatus());
+        assertEquals("gave up", untouched.getErrorMessage());
+    }
+
+    @Test
+    void findScheduledRetriesShouldPageRetryingEventsByDueTime() {
+        Instant base = Instant.now().truncatedTo(ChronoUnit.MILLIS);
+        List<NotificationEvent> events = List.of(event("{}"), event("{}"), event("{}"), event("{}"), event("{}"));
+        repository.insertBatch(events);
+        // Deferred events have never been attempted; two share a due time and are ordered by id
+        repository.defer(events.get(0).getId(), base.plusSeconds(30));
+        repository.defer(events.get(1).getId(), base.plusSeconds(10));
+        repository.defer(events.get(2).getId(), base.plusSeconds(10));
+        repository.defer(events.get(3).getId(), base.minusSeconds(5));
+
+        List<ScheduledRetry> restored = new ArrayList<>();
+        List<ScheduledRetry> page = repository.findScheduledRetries(null, 2);
+        while (!page.isEmpty()) {
+            assertTrue(page.size() <= 2);
+            restored.addAll(page);
+            page = repository.findScheduledRetries(page.get(page.size() - 1), 2);
+        }
+
+        List<ScheduledRetry> expected = new ArrayList<>(List.of(
+                new ScheduledRetry(events.get(3).getId(), base.minusSeconds(5)),
+                new ScheduledRetry(events.get(1).getId(), base.plusSeconds(10)),
+                new ScheduledRetry(events.get(2).getId(), base.plusSeconds(10)),
+                new ScheduledRetry(events.get(0).getId(), base.plusSeconds(30))));
+        expected.sort(Comparator.comparing(ScheduledRetry::nextAttemptAt)
+                .thenComparing(ScheduledRetry::notificationId, JpaNotificationRepositoryIntegrationTest::compareAsPostgres));
+        // The pending event is not a retry
+        assertEquals(expected, restored);
+    }
+
+    @Test
+    void claimDueRetriesShouldSkipRowsLockedByAnotherClaim() {
+        List<UUID> due = dueRetries(4);
+
+        List<PendingDelivery> first = new ArrayList<>();
+        List<PendingDelivery> second = new ArrayList<>();
+        transactionTemplate.executeWithoutResult(status -> {
+            first.addAll(repository.claimDueRetries("node-1", 2, Duration.ofMinutes(2)));
+            // The first claim has not committed; a blocking claim would time out here
+            second.addAll(CompletableFuture.supplyAsync(() ->
+                    repository.claimDueRetries("node-2", 10, Duration.ofMinutes(2))).orTimeout(5, TimeUnit.SECONDS).join());
+        });
+
+        assertEquals(2, first.size());
+        assertEquals(2, second.size());
+        Set<UUID> claimed = new HashSet<>(ids(first));
+        claimed.addAll(ids(second));
+        assertEquals(Set.copyOf(due), claimed);
+        assertTrue(repository.claimDueRetries("node-3", 10, Duration.ofMinutes(2)).isEmpty());
+    }
+
+    @Test
+    void claimDueRetriesShouldReclaimExpiredLeasesButNotFutureRetries() {
+        UUID expired = dueRetries(1).get(0);
+        NotificationEvent later = event("{}");
+        repository.insertBatch(List.of(later));
+        repository.defer(later.getId(), Instant.now().plusSeconds(60));
+        repository.claimDueRetries("node-1", 10, Duration.ofMillis(-1));
+
+        List<PendingDelivery> reclaimed = repository.claimDueRetries("node-2", 10, Duration.ofMinutes(2));
+
+        assertEquals(List.of(expired), ids(reclaimed));
+        assertEquals("node-2", repository.findById(expired).orElseThrow().getLeaseOwner());
+    }
+
+    @Test
+    void extendRetryLeasesShouldOnlyExtendLeasesHeldByTheNode() {
+        List<UUID> due = dueRetries(2);
+        UUID held = repository.claimDueRetries("node-1", 1, Duration.ofMinutes(1)).get(0).notificationId();
+        UUID taken = repository.claimDueRetries("node-2", 1, Duration.ofMinutes(1)).get(0).notificationId();
+
+        repository.extendRetryLeases("node-1", due, Duration.ofHours(1));
+
+        Instant halfHour = Instant.now().plus(Duration.ofMinutes(30));
+        assertTrue(repository.findById(held).orElseThrow().getLeaseExpiresAt().isAfter(halfHour));
+        assertTrue(repository.findById(taken).orElseThrow().getLeaseExpiresAt().isBefore(halfHour));
+    }
+
+    private static List<UUID> dueRetries(int count) {
+        List<NotificationEvent> events = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            events.add(event("{}"));
+        }
+        repository.insertBatch(events);
+        for (NotificationEvent event : events) {
+            repository.defer(event.getId(), Instant.now().minusSeconds(1));
+        }
+        return events.stream().map(NotificationEvent::getId).toList();
+    }
+
+    private static List<UUID> ids(List<PendingDelivery> deliveries) {
+        return deliveries.stream().map(PendingDelivery::notificationId).toList();
+    }
+
+    // Postgres orders uuids by their bytes, Java by signed halves
+    private static int compareAsPostgres(UUID first, UUID second) {
+        return first.toString().compareTo(second.toString());
+    }
+
+    private static NotificationEvent event(String eventData) {
+        return new NotificationEvent(UUID.randomUUID(), "client-123", "payment.completed",
+                eventData, "https://webhook.test.com");
+    }
+}
@@ -0,0 +1,142 @@
+package com.cobre.notification.infrastructure.persistence.jpa;
+
+import com.cobre.notification.domain.model.EventCursor;
+import com.cobre.notification.domain.model.NotificationEvent;
+import org.flywaydb.core.Flyway;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Slice;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.time.Instant;
+import java.time.YearMonth;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+import java.time.temporal.ChronoUnit;
+import java.util.Arrays;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Seeds a million events across 500 clients and six monthly partitions, then times the client
+ * query shapes. Run with ./gradlew benchmarkTest; excluded from the regular test task.
+ */
+@Tag("benchmark")
+@Testcontainers
+class NotificationQueryBenchmarkTest {
+
+    private static final Logger logger = LoggerFactory.getLogger(NotificationQueryBenchmarkTest.class);
+
+    private static final int EVENTS = 1_000_000;
+    private static final int CLIENTS = 500;
+    private static final int ITERATIONS = 50;
+
+    @Container
+    private static final PostgreSQLContainer<?> postgres = new PostgreSQLContainer<>("postgres:16-alpine");
+
+    private static NamedParameterJdbcTemplate jdbcTemplate;
+    private static JdbcNotificationQueries queries;
+
+    @BeforeAll
+    static void seed() {
+        DriverManagerDataSource dataSource = new DriverManagerDataSource(
+                postgres.getJdbcUrl(), postgres.getUsername(), postgres.getPassword());
+        Flyway.configure().dataSource(dataSource).load().migrate();
+
+        jdbcTemplate = new NamedParameterJdbcTemplate(dataSource);
+        queries = new JdbcNotificationQueries(jdbcTemplate);
+
+        // The migration only creates partitions from the current month on
+        jdbcTemplate.getJdbcTemplate().execute("""
+                DO $$
+                DECLARE m DATE;
+                BEGIN
+                    FOR i IN 1..6 LOOP
+                        m := date_trunc('month', now() - make_interval(months => i));
+                        EXECUTE format('CREATE TABLE IF NOT EXISTS notification_events_p%s PARTITION OF notification_events FOR VALUES FROM (%L) TO (%L)',
+                                       to_char(m, 'YYYYMM'), m, m + INTERVAL '1 month');
+                    END LOOP;
+                END $$""");
+
+        jdbcTemplate.getJdbcTemplate().execute("""
+                INSERT INTO notification_events (id, client_id, event_type, event_data, created_at, webhook_url,
+                        delivery_status, delivery_attempts, last_attempt_at)
+                SELECT gen_random_uuid(),
+                       'client-' || (g %% %d),
+                       'payment.completed',
+                       '{"amount": 100}',
+                       now() - make_interval(secs => random() * 150 * 86400),
+                       'https://webhook.test.com',
+                       CASE WHEN g %% 20 = 0 THEN 'FAILED' WHEN g %% 10 = 0 THEN 'RETRYING' ELSE 'DELIVERED' END,
+                       g %% 7,
+                       now() - make_interval(secs => random() * 86400)
+                FROM generate_series(1, %d) g""".formatted(CLIENTS, EVENTS));
+        jdbcTemplate.getJdbcTemplate().execute("ANALYZE notification_events");
+    }
+
+    @Test
+    void benchmarkClientQueries() {
+        Instant weekAgo = Instant.now().minus(7, ChronoUnit.DAYS);
+        PageRequest firstPage = PageRequest.of(0, 20);
+        PageRequest deepPage = PageRequest.of(50, 20);
+
+        report("client only", () -> queries.findByClientIdWithFilters("client-42", null, null, null, firstPage, true));
+        report("client + status", () -> queries.findByClientIdWithFilters("client-42", null, null, "FAILED", firstPage, true));
+        report("client + last week", () -> queries.findByClientIdWithFilters("client-42", weekAgo, null, null, firstPage, true));
+        report("client + status + last week",
+                () -> queries.findByClientIdWithFilters("client-42", weekAgo, null, "FAILED", firstPage, true));
+        report("client, offset page 50", () -> queries.findByClientIdWithFilters("client-42", null, null, null, deepPage, true));
+        report("client only, summary", () -> queries.findByClientIdWithFilters("client-42", null, null, null, firstPage, false));
+
+        Slice<NotificationEvent> page = queries.findByClientIdAfter("client-42", null, null, null, null, 20, true);
+        for (int i = 0; i < 49; i++) {
+            NotificationEvent last = page.getContent().get(page.getNumberOfElements() - 1);
+            page = queries.findByClientIdAfter("client-42", null, null, null, EventCursor.of(last), 20, true);
+        }
+        EventCursor deepCursor = EventCursor.of(page.getContent().get(page.getNumberOfElements() - 1));
+        report("client, keyset page 50",
+                () -> queries.findByClientIdAfter("client-42", null, null, null, deepCursor, 20, true));
+    }
+
+    @Test
+    void statusFilterUsesCompositeIndexAndDateFilterPrunesPartitions() {
+        NotificationEventQuery query = new NotificationEventQuery("client-42")
+                .createdFrom(Instant.now().minus(7, ChronoUnit.DAYS))
+                .deliveryStatus("FAILED");
+        String sql = query.select("id", "created_at DESC, id DESC", 20, 0);
+
+        String plan = String.join("\n", jdbcTemplate.queryForList("EXPLAIN " + sql, query.params(), String.class));
+        logger.info("Plan:\n{}", plan);
+
+        assertTrue(plan.contains("idx_client_status_created"), plan);
+        assertFalse(plan.contains("notification_events_p" + monthsAgo(3)), "older partitions should be pruned:\n" + plan);
+    }
+
+    private static String monthsAgo(int months) {
+        return YearMonth.now(ZoneOffset.UTC).minusMonths(months).format(DateTimeFormatter.ofPattern("yyyyMM"));
+    }
+
+    private static void report(String name, Supplier<?> query) {
+        for (int i = 0; i < 5; i++) {
+            query.get();
+        }
+        long[] nanos = new long[ITERATIONS];
+        for (int i = 0; i < ITERATIONS; i++) {
+            long start = System.nanoTime();
+            query.get();
+            nanos[i] = System.nanoTime() - start;
+        }
+        Arrays.sort(nanos);
+        logger.info(String.format("%-30s p50 %6.2f ms   p95 %6.2f ms",
+                name, nanos[ITERATIONS / 2] / 1e6, nanos[(int) (ITERATIONS * 0.95)] / 1e6));
+    }
+}
@@ -0,0 +1,113 @@
+package com.cobre.notification.infrastructure.persistence.outbox;
+
+import com.cobre.notification.domain.model.OutboxEntry;
+import com.cobre.notification.domain.model.PendingDelivery;
+import org.flywaydb.core.Flyway;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@Tag("integration")
+@Testcontainers(disabledWithoutDocker = true)
+class JdbcDeliveryOutboxIntegrationTest {
+
+    @Container
+    private static final PostgreSQLContainer<?> postgres = new PostgreSQLContainer<>("postgres:16-alpine");
+
+    private static NamedParameterJdbcTemplate jdbcTemplate;
+    private static JdbcDeliveryOutbox outbox;
+
+    @BeforeAll
+    static void migrate() {
+        DriverManagerDataSource dataSource = new DriverManagerDataSource(
+                postgres.getJdbcUrl(), postgres.getUsername(), postgres.getPassword());
+        Flyway.configure().dataSource(dataSource).load().migrate();
+
+        jdbcTemplate = new NamedParameterJdbcTemplate(dataSource);
+        outbox = new JdbcDeliveryOutbox(jdbcTemplate);
+    }
+
+    @BeforeEach
+    void emptyOutbox() {
+        jdbcTemplate.getJdbcTemplate().execute("TRUNCATE delivery_outbox");
+    }
+
+    @Test
+    void shouldClaimOldestEntriesFirstAndSkipLeasedOnes() {
+        List<PendingDelivery> deliveries = deliveries(3);
+        outbox.enqueue(deliveries);
+
+        List<OutboxEntry> first = outbox.claim("node-1", 2, Duration.ofMinutes(5));
+        List<OutboxEntry> second = outbox.claim("node-2", 10, Duration.ofMinutes(5));
+
+        assertEquals(List.of(deliveries.get(0).notificationId(), deliveries.get(1).notificationId()),
+                first.stream().map(OutboxEntry::notificationId).toList());
+        assertTrue(first.get(0).id() < first.get(1).id());
+        assertEquals(List.of(deliveries.get(2).notificationId()),
+                second.stream().map(OutboxEntry::notificationId).toList());
+        assertEquals("client-123", second.get(0).clientId());
+        assertTrue(outbox.claim("node-3", 10, Duration.ofMinutes(5)).isEmpty());
+    }
+
+    @Test
+    void shouldReclaimEntriesWhoseLeaseExpired() {
+        outbox.enqueue(deliveries(1));
+        OutboxEntry claimed = outbox.claim("node-1", 10, Duration.ofMillis(-1)).get(0);
+
+        List<OutboxEntry> reclaimed = outbox.claim("node-2", 10, Duration.ofMinutes(5));
+
+        assertEquals(List.of(claimed), reclaimed);
+    }
+
+    @Test
+    void shouldExtendOnlyLeasesHeldByTheNode() {
+        outbox.enqueue(deliveries(2));
+        OutboxEntry held = outbox.claim("node-1", 1, Duration.ofMinutes(1)).get(0);
+        OutboxEntry taken = outbox.claim("node-2", 1, Duration.ofMinutes(1)).get(0);
+
+        outbox.extendLeases("node-1", List.of(held.id(), taken.id()), Duration.ofHours(1));
+
+        Instant halfHour = Instant.now().plus(Duration.ofMinutes(30));
+        assertTrue(leaseExpiresAt(held.id()).isAfter(halfHour));
+        assertTrue(leaseExpiresAt(taken.id()).isBefore(halfHour));
+    }
+
+    @Test
+    void shouldDeleteRemovedEntries() {
+        outbox.enqueue(deliveries(3));
+        List<OutboxEntry> claimed = outbox.claim("node-1", 10, Duration.ofMillis(-1));
+
+        outbox.remove(List.of(claimed.get(0).id(), claimed.get(2).id()));
+        outbox.remove(List.of());
+
+        assertEquals(1, jdbcTemplate.getJdbcTemplate().queryForObject("SELECT count(*) FROM delivery_outbox", Integer.class));
+        assertEquals(List.of(claimed.get(1)), outbox.claim("node-2", 10, Duration.ofMinutes(5)));
+    }
+
+    private static Instant leaseExpiresAt(long id) {
+        return jdbcTemplate.queryForObject("SELECT lease_expires_at FROM delivery_outbox WHERE id = :id",
+                Map.of("id", id), Timestamp.class).toInstant();
+    }
+
+    private static List<PendingDelivery> deliveries(int count) {
+        return IntStream.range(0, count)
+                .mapToObj(i -> new PendingDelivery(UUID.randomUUID(), "client-123"))
+                .toList();
+    }
+}
@@ -0,0 +1,89 @@
+package com.cobre.notification.infrastructure.persistence.partition;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.time.YearMonth;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+import java.util.List;
+
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class NotificationPartitionManagerTest {
+
+    @Mock
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    void shouldPremakeUpcomingPartitions() {
+        acquireLock(true);
+        noStrayRows();
+
+        new NotificationPartitionManager(jdbcTemplate, 3, 0, "detach").maintain();
+
+        for (int i = 0; i <= 3; i++) {
+            verify(jdbcTemplate).execute(contains(
+                    "CREATE TABLE IF NOT EXISTS " + partition(i) + " PARTITION OF notification_events"));
+        }
+        verify(jdbcTemplate, never()).queryForList(anyString(), eq(String.class));
+    }
+
+    @Test
+    void shouldDropExpiredPartitionsAndOrphanPayloads() {
+        acquireLock(true);
+        noStrayRows();
+        when(jdbcTemplate.queryForList(anyString(), eq(String.class)))
+                .thenReturn(List.of(partition(-7), partition(-6), partition(0), "notification_events_default"));
+
+        new NotificationPartitionManager(jdbcTemplate, 0, 6, "drop").maintain();
+
+        verify(jdbcTemplate).execute("ALTER TABLE notification_events DETACH PARTITION " + partition(-7));
+        verify(jdbcTemplate).execute("DROP TABLE " + partition(-7));
+        verify(jdbcTemplate, never()).execute(contains("DETACH PARTITION " + partition(-6)));
+        verify(jdbcTemplate, never()).execute(contains("DETACH PARTITION notification_events_default"));
+        verify(jdbcTemplate).update(contains("DELETE FROM event_payloads"));
+    }
+
+    @Test
+    void shouldKeepPayloadsOfDetachedPartitions() {
+        acquireLock(true);
+        noStrayRows();
+        when(jdbcTemplate.queryForList(anyString(), eq(String.class))).thenReturn(List.of(partition(-7)));
+
+        new NotificationPartitionManager(jdbcTemplate, 0, 6, "detach").maintain();
+
+        verify(jdbcTemplate).execute("ALTER TABLE notification_events DETACH PARTITION " + partition(-7));
+        verify(jdbcTemplate, never()).execute(startsWith("DROP TABLE"));
+        verify(jdbcTemplate, never()).update(anyString());
+    }
+
+    @Test
+    void shouldSkipWhenAnotherNodeHoldsTheLock() {
+        acquireLock(false);
+
+        new NotificationPartitionManager(jdbcTemplate, 3, 6, "drop").maintain();
+
+        verify(jdbcTemplate, never()).execute(anyString());
+        verify(jdbcTemplate, never()).queryForList(anyString(), eq(String.class));
+        verify(jdbcTemplate, never()).update(anyString());
+    }
+
+    private void acquireLock(boolean acquired) {
+        when(jdbcTemplate.queryForObject(contains("pg_try_advisory_xact_lock"), eq(Boolean.class), any()))
+                .thenReturn(acquired);
+    }
+
+    private void noStrayRows() {
+        when(jdbcTemplate.queryForObject(contains("notification_events_default"), eq(Integer.class))).thenReturn(0);
+    }
+
+    private static String partition(int monthsFromNow) {
+        return "notification_events_p" + YearMonth.now(ZoneOffset.UTC).plusMonths(monthsFromNow)
+                .format(DateTimeFormatter.ofPattern("yyyyMM"));
+    }
+}
@@ -0,0 +1,62 @@
+package com.cobre.notification.infrastructure.persistence.payload;
+
+import com.cobre.notification.domain.model.EventPayload;
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class PayloadCodecTest {
+
+    private static final String LARGE_PAYLOAD = "{\"items\": [" + "{\"amount\": 100, \"currency\": \"COP\"},".repeat(200) + "{}]}";
+
+    @Test
+    void shouldCompressLargePayloadsAndRoundTrip() {
+        byte[] raw = LARGE_PAYLOAD.getBytes(StandardCharsets.UTF_8);
+
+        PayloadCodec.Encoded encoded = PayloadCodec.encode(raw, true, 1024);
+
+        assertEquals(PayloadCodec.GZIP, encoded.encoding());
+        assertTrue(encoded.data().length < raw.length);
+        assertArrayEquals(raw, PayloadCodec.decode(encoded.encoding(), encoded.data()));
+    }
+
+    @Test
+    void shouldKeepSmallPayloadsUncompressed() {
+        byte[] raw = "{\"amount\": 100}".getBytes(StandardCharsets.UTF_8);
+
+        PayloadCodec.Encoded encoded = PayloadCodec.encode(raw, true, 1024);
+
+        assertEquals(PayloadCodec.IDENTITY, encoded.encoding());
+        assertArrayEquals(raw, encoded.data());
+    }
+
+    @Test
+    void shouldHashIdenticalPayloadsIdentically() {
+        byte[] a = PayloadCodec.hash("{\"amount\": 100}".getBytes(StandardCharsets.UTF_8));
+        byte[] b = PayloadCodec.hash("{\"amount\": 100}".getBytes(StandardCharsets.UTF_8));
+        byte[] c = PayloadCodec.hash("{\"amount\": 101}".getBytes(StandardCharsets.UTF_8));
+
+        assertArrayEquals(a, b);
+        assertFalse(Arrays.equals(a, c));
+    }
+
+    @Test
+    void shouldDecodeLazilyAndOnlyOnce() {
+        PayloadCodec.Encoded encoded = PayloadCodec.encode(
+                LARGE_PAYLOAD.getBytes(StandardCharsets.UTF_8), true, 1024);
+        AtomicInteger decodes = new AtomicInteger();
+        EventPayload payload = EventPayload.lazy(() -> {
+            decodes.incrementAndGet();
+            return PayloadCodec.decode(encoded.encoding(), encoded.data());
+        });
+
+        assertEquals(0, decodes.get());
+        assertEquals(LARGE_PAYLOAD, payload.get());
+        assertEquals(LARGE_PAYLOAD, payload.get());
+        assertEquals(1, decodes.get());
+    }
+}
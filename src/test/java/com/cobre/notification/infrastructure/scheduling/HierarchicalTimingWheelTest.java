@@ -0,0 +1,58 @@
+package com.cobre.notification.infrastructure.scheduling;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class HierarchicalTimingWheelTest {
+
+    private static final Instant START = Instant.parse("2024-01-01T00:00:00Z");
+
+    @Test
+    void shouldReturnEntryOnlyOnceItIsDue() {
+        HierarchicalTimingWheel<String> wheel = newWheel();
+        wheel.add("a", START.plusSeconds(5));
+
+        assertTrue(wheel.advance(START.plusSeconds(4)).isEmpty());
+        assertEquals(List.of("a"), wheel.advance(START.plusSeconds(5)));
+        assertEquals(0, wheel.size());
+    }
+
+    @Test
+    void shouldCascadeEntriesFromHigherLevels() {
+        HierarchicalTimingWheel<String> wheel = newWheel();
+        wheel.add("retry-300s", START.plusSeconds(300));
+        wheel.add("retry-43200s", START.plusSeconds(43200));
+
+        assertTrue(wheel.advance(START.plusSeconds(299)).isEmpty());
+        assertEquals(List.of("retry-300s"), wheel.advance(START.plusSeconds(300)));
+        assertTrue(wheel.advance(START.plusSeconds(43199)).isEmpty());
+        assertEquals(List.of("retry-43200s"), wheel.advance(START.plusSeconds(43200)));
+    }
+
+    @Test
+    void shouldReturnOverdueEntriesOnNextAdvance() {
+        HierarchicalTimingWheel<String> wheel = newWheel();
+        wheel.add("late", START.minusSeconds(30));
+
+        assertEquals(List.of("late"), wheel.advance(START));
+    }
+
+    @Test
+    void shouldHoldEntriesBeyondTheTopLevelInOverflow() {
+        HierarchicalTimingWheel<String> wheel = new HierarchicalTimingWheel<>(
+                Duration.ofSeconds(1), 4, 2, START);
+        wheel.add("far", START.plusSeconds(40));
+
+        assertTrue(wheel.advance(START.plusSeconds(39)).isEmpty());
+        assertEquals(List.of("far"), wheel.advance(START.plusSeconds(40)));
+    }
+
+    private HierarchicalTimingWheel<String> newWheel() {
+        return new HierarchicalTimingWheel<>(Duration.ofSeconds(1), 64, 4, START);
+    }
+}
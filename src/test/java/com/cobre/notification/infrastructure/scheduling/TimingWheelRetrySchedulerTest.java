@@ -0,0 +1,94 @@
+package com.cobre.notification.infrastructure.scheduling;
+
+import com.cobre.notification.domain.model.PendingDelivery;
+import com.cobre.notification.domain.port.in.DispatchDeliveryUseCase;
+import com.cobre.notification.domain.port.out.NotificationRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class TimingWheelRetrySchedulerTest {
+
+    private static final String NODE = "node-1";
+    private static final Duration LEASE = Duration.ofMinutes(2);
+
+    @Mock
+    private NotificationRepository notificationRepository;
+
+    @Mock
+    private DispatchDeliveryUseCase dispatchUseCase;
+
+    private final Map<UUID, CompletableFuture<Void>> deliveries = new HashMap<>();
+
+    @Test
+    void shouldCapClaimsByRetriesInFlight() {
+        pendingDeliveries();
+        PendingDelivery first = delivery();
+        when(notificationRepository.claimDueRetries(eq(NODE), anyInt(), eq(LEASE)))
+                .thenReturn(List.of(first, delivery()))
+                .thenReturn(List.of(delivery()))
+                .thenReturn(List.of());
+        TimingWheelRetryScheduler scheduler = scheduler(2, 3);
+
+        scheduler.sweepDueRetries();
+
+        verify(dispatchUseCase, times(3)).dispatch(anyString(), any());
+        verify(notificationRepository).claimDueRetries(NODE, 2, LEASE);
+        verify(notificationRepository).claimDueRetries(NODE, 1, LEASE);
+
+        // Full: the next sweep claims nothing until a delivery finishes
+        scheduler.sweepDueRetries();
+        verify(notificationRepository, times(2)).claimDueRetries(eq(NODE), anyInt(), eq(LEASE));
+
+        deliveries.get(first.notificationId()).complete(null);
+        scheduler.dispatchDueRetries();
+        verify(notificationRepository, times(2)).claimDueRetries(NODE, 1, LEASE);
+    }
+
+    @Test
+    void shouldRenewLeasesOfRetriesInFlight() {
+        pendingDeliveries();
+        PendingDelivery delivered = delivery();
+        PendingDelivery inFlight = delivery();
+        when(notificationRepository.claimDueRetries(eq(NODE), anyInt(), eq(LEASE)))
+                .thenReturn(List.of(delivered, inFlight))
+                .thenReturn(List.of());
+        TimingWheelRetryScheduler scheduler = scheduler(10, 100);
+        scheduler.sweepDueRetries();
+
+        deliveries.get(delivered.notificationId()).complete(null);
+        scheduler.dispatchDueRetries();
+        // Not again until half the lease has passed
+        scheduler.dispatchDueRetries();
+
+        verify(notificationRepository, times(1)).extendRetryLeases(NODE, List.of(inFlight.notificationId()), LEASE);
+    }
+
+    private TimingWheelRetryScheduler scheduler(int claimBatchSize, int maxInFlight) {
+        return new TimingWheelRetryScheduler(notificationRepository, dispatchUseCase, new SimpleMeterRegistry(),
+                NODE, claimBatchSize, maxInFlight, LEASE);
+    }
+
+    // Each delivery stays in flight until the test completes it
+    private void pendingDeliveries() {
+        when(dispatchUseCase.dispatch(anyString(), any())).thenAnswer(invocation ->
+                deliveries.computeIfAbsent(invocation.getArgument(1), id -> new CompletableFuture<>()));
+    }
+
+    private static PendingDelivery delivery() {
+        return new PendingDelivery(UUID.randomUUID(), "client-123");
+    }
+}